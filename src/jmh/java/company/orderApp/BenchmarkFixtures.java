@@ -0,0 +1,74 @@
+package company.orderApp;
+
+import company.orderApp.discount.DiscountPolicy;
+import company.orderApp.discount.FixDiscountPolicy;
+import company.orderApp.domain.Address;
+import company.orderApp.domain.Cart;
+import company.orderApp.domain.Delivery;
+import company.orderApp.domain.User;
+import company.orderApp.domain.item.Item;
+import company.orderApp.domain.order.Order;
+import company.orderApp.domain.order.OrderItem;
+import company.orderApp.domain.order.Receipt;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크용 도메인 객체 생성. DB 없이 실제 생성 메서드로 장바구니와 주문을 만든다.
+ */
+public final class BenchmarkFixtures {
+
+    private static final DiscountPolicy DISCOUNT_POLICY = new FixDiscountPolicy();
+
+    private BenchmarkFixtures() {
+    }
+
+    public static User user() {
+        Address address = new Address("행복마트", "서울특별시 중구 세종대로 110", 4524, "1층");
+        User user = User.createUser("홍길동", "store01", "password", address, "123-45-67890", "010-1234-5678", "USER");
+        user.setId(1L);
+        return user;
+    }
+
+    public static List<Item> items(int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            items.add(Item.builder()
+                    .id(id)
+                    .name("농심 신라면 멀티팩 5입 " + id)
+                    .price(4500 + (int) (id % 10) * 100)
+                    .imgPath("/api/images/" + id + ".jpg")
+                    .itemNumber("A-" + id)
+                    .manufacturer("농심")
+                    .description("얼큰한 국물맛 라면 5개입 상품입니다.")
+                    .minimumQuantityForDiscount(5)
+                    .isBest(id % 10 == 0)
+                    .visible(true)
+                    .build());
+        }
+        return items;
+    }
+
+    public static Cart cart(User user, int lineCount) {
+        Cart cart = Cart.createCart(user);
+        for (Item item : items(lineCount)) {
+            cart.addOrderItem(line(item, (int) (item.getId() % OrderItem.MAX_COUNT) + 1));
+        }
+        return cart;
+    }
+
+    public static Order order(User user, int lineCount) {
+        Delivery delivery = Delivery.createDelivery(user.getAddress());
+        List<OrderItem> lines = new ArrayList<>(cart(user, lineCount).getOrderItems().values());
+        Order order = Order.createOrderByCheckout(user, delivery, lines, user.getPhoneNumber(), Receipt.TAX_INVOICE, "문 앞에 놓아주세요");
+
+        //DB의 일괄 update 대신 메모리에서 주문 상품을 연결한다.
+        lines.forEach(order::addOrderItem);
+        return order;
+    }
+
+    private static OrderItem line(Item item, int count) {
+        return OrderItem.createOrderItem(item, item.getPrice(), count, DISCOUNT_POLICY.discount(count, item.getMinimumQuantityForDiscount()));
+    }
+}
@@ -0,0 +1,73 @@
+package company.orderApp.controller.response;
+
+import company.orderApp.BenchmarkFixtures;
+import company.orderApp.domain.Cart;
+import company.orderApp.domain.User;
+import company.orderApp.domain.item.Item;
+import company.orderApp.domain.order.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * 주문 내역, 관리자 주문 목록, 장바구니, 상품 목록 응답 DTO 생성
+ * 한 번의 호출은 한 페이지(주문 20건 / 상품 목록 전체) 변환에 해당한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DtoMappingBenchmark {
+
+    private static final int ORDERS_PER_PAGE = 20;
+
+    // 주문/장바구니 한 건의 상품 줄 수
+    @Param({"1", "10", "30"})
+    private int lineCount;
+
+    @Param({"500"})
+    private int catalogSize;
+
+    private List<Order> orders;
+    private Cart cart;
+    private List<Item> items;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        User user = BenchmarkFixtures.user();
+        orders = IntStream.range(0, ORDERS_PER_PAGE)
+                .mapToObj(i -> BenchmarkFixtures.order(user, lineCount))
+                .toList();
+        cart = BenchmarkFixtures.cart(user, lineCount);
+        items = BenchmarkFixtures.items(catalogSize);
+    }
+
+    @Benchmark
+    public List<OrderDto> orderDto() {
+        return orders.stream().map(OrderDto::new).toList();
+    }
+
+    @Benchmark
+    public List<OrderAdminDto> orderAdminDto() {
+        return orders.stream().map(OrderAdminDto::new).toList();
+    }
+
+    @Benchmark
+    public CartDto cartDto() {
+        return new CartDto(cart);
+    }
+
+    @Benchmark
+    public List<ItemDto> itemDto() {
+        return items.stream().map(ItemDto::new).toList();
+    }
+}
@@ -0,0 +1,65 @@
+package company.orderApp.service;
+
+import company.orderApp.BenchmarkFixtures;
+import company.orderApp.discount.DiscountPolicy;
+import company.orderApp.discount.FixDiscountPolicy;
+import company.orderApp.domain.order.Order;
+import company.orderApp.domain.order.OrderItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 할인 정책과 주문 금액 합계 계산
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OrderPricingBenchmark {
+
+    // 주문 한 건의 상품 줄 수
+    @Param({"1", "10", "30"})
+    private int lineCount;
+
+    private final DiscountPolicy discountPolicy = new FixDiscountPolicy();
+    // 수량 1~12, 할인 시작 수량 3~7 조합
+    private final int[] amounts = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12};
+    private final int[] startAmounts = {3, 4, 5, 6, 7};
+
+    private Order order;
+    private List<OrderItem> lines;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        order = BenchmarkFixtures.order(BenchmarkFixtures.user(), lineCount);
+        lines = List.copyOf(order.getOrderItems());
+    }
+
+    @Benchmark
+    public void discount(Blackhole blackhole) {
+        for (int amount : amounts) {
+            for (int startAmount : startAmounts) {
+                blackhole.consume(discountPolicy.discount(amount, startAmount));
+            }
+        }
+    }
+
+    /**
+     * 주문 생성 때 상품 줄을 더해 합계를 저장하는 비용. 줄 수에 비례한다.
+     */
+    @Benchmark
+    public int calculateTotals() {
+        order.calculateTotals(lines);
+        return order.getNetPrice();
+    }
+}
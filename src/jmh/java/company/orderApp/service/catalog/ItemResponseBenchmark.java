@@ -0,0 +1,92 @@
+package company.orderApp.service.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import company.orderApp.controller.response.ItemDetailDto;
+import company.orderApp.controller.response.ItemDto;
+import company.orderApp.controller.response.ResultResponse;
+import company.orderApp.domain.item.Item;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 목록/상세 응답: 요청마다 DTO 생성 + Jackson 직렬화 vs 직렬화해 둔 바이트 쓰기
+ * gc 프로파일러의 gc.alloc.rate.norm 값으로 요청당 할당량을 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ItemResponseBenchmark {
+
+    @Param({"100", "1000"})
+    private int itemCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final OutputStream out = OutputStream.nullOutputStream();
+
+    private List<Item> items;
+    private CachedBody listBody;
+    private CachedBody detailBody;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        items = new ArrayList<>(itemCount);
+        for (long id = 1; id <= itemCount; id++) {
+            items.add(Item.builder()
+                    .id(id)
+                    .name("농심 신라면 멀티팩 5입 " + id)
+                    .price(4500)
+                    .imgPath("/api/images/" + id + ".jpg")
+                    .itemNumber("A-" + id)
+                    .manufacturer("농심")
+                    .description("얼큰한 국물맛 라면 5개입 상품입니다. " + id)
+                    .minimumQuantityForDiscount(5)
+                    .isBest(id % 10 == 0)
+                    .visible(true)
+                    .catalogVersion(id)
+                    .build());
+        }
+
+        List<ItemDto> dtos = items.stream().map(ItemDto::new).toList();
+        listBody = new CachedBody(1, "\"1\"", objectMapper.writeValueAsBytes(new ResultResponse<>(dtos.size(), dtos)), true);
+        detailBody = new CachedBody(1, "\"1-1\"", objectMapper.writeValueAsBytes(new ItemDetailDto(items.get(0))), true);
+    }
+
+    @Benchmark
+    public void listJackson() throws IOException {
+        List<ItemDto> result = items.stream().map(ItemDto::new).toList();
+        objectMapper.writeValue(out, new ResultResponse<>(result.size(), result));
+    }
+
+    @Benchmark
+    public void listCached() throws IOException {
+        out.write(listBody.getJson());
+    }
+
+    @Benchmark
+    public void listCachedGzip() throws IOException {
+        out.write(listBody.getGzip());
+    }
+
+    @Benchmark
+    public void detailJackson() throws IOException {
+        objectMapper.writeValue(out, new ItemDetailDto(items.get(0)));
+    }
+
+    @Benchmark
+    public void detailCached() throws IOException {
+        out.write(detailBody.getJson());
+    }
+}
@@ -0,0 +1,73 @@
+package company.orderApp.service.catalog;
+
+import company.orderApp.controller.response.ItemDto;
+import company.orderApp.domain.item.Item;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 10만 개 기준 검색 지연 시간 측정
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ItemSearchIndexBenchmark {
+
+    private static final String[] MANUFACTURERS = {"농심", "오뚜기", "삼양", "팔도", "CJ제일제당", "동원", "롯데", "해태", "빙그레", "풀무원"};
+    private static final String[] PRODUCTS = {"신라면", "진라면", "불닭볶음면", "비빔면", "햇반", "참치캔", "초코파이", "홈런볼", "바나나우유", "두부"};
+    private static final String[] OPTIONS = {"멀티팩 5입", "컵", "대용량", "소용량", "1박스 20입"};
+
+    @Param({"100000"})
+    private int itemCount;
+
+    // 2글자 한글, 3글자 한글, 초성, 제품번호, 결과 없음
+    @Param({"라면", "불닭볶", "ㅅㄹㅁ", "A-0042", "없는상품"})
+    private String query;
+
+    private ItemSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new ItemSearchIndex();
+        for (long id = 1; id <= itemCount; id++) {
+            int n = (int) id;
+            String manufacturer = MANUFACTURERS[n % MANUFACTURERS.length];
+            String product = PRODUCTS[(n / MANUFACTURERS.length) % PRODUCTS.length];
+            String option = OPTIONS[n % OPTIONS.length];
+
+            Item item = Item.builder()
+                    .id(id)
+                    .name(manufacturer + " " + product + " " + option)
+                    .price(1000 + n % 50 * 100)
+                    .imgPath("/images/" + id + ".jpg")
+                    .itemNumber(String.format("A-%04d-%d", n % 10000, id))
+                    .manufacturer(manufacturer)
+                    .description(product + " " + option + " 상품 설명 " + id)
+                    .minimumQuantityForDiscount(5)
+                    .visible(true)
+                    .build();
+
+            index.put(new ItemDto(item));
+        }
+    }
+
+    @Benchmark
+    public List<ItemDto> firstPage() {
+        return index.search(query, null, 20);
+    }
+
+    @Benchmark
+    public List<ItemDto> deepPage() {
+        return index.search(query, (long) itemCount / 2, 20);
+    }
+}
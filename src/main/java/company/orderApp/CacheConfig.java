@@ -0,0 +1,60 @@
+package company.orderApp;
+
+
+import company.orderApp.domain.item.Item;
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+
+/**
+ * Hibernate 2차 캐시 설정.
+ * 주문, 장바구니, 주문 내역에서 반복 조회되는 상품(Item)을 JCache(Ehcache) 로컬 캐시에 보관한다.
+ */
+@Configuration
+public class CacheConfig {
+
+    public static final String ITEM_REGION = Item.class.getName();
+
+    @Bean(destroyMethod = "close")
+    public CacheManager jCacheManager(@Value("${item.cache.max-entries:10000}") long maxEntries,
+                                      @Value("${item.cache.ttl-seconds:600}") long ttlSeconds) {
+        CachingProvider provider = Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+
+        //최대 개수와 TTL을 둬서 메모리 사용량과 다른 인스턴스에서 바뀐 상품이 남아 있는 시간을 제한한다.
+        CacheConfiguration<Object, Object> itemCache = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ttlSeconds)))
+                .build();
+        cacheManager.createCache(ITEM_REGION, Eh107Configuration.fromEhcacheCacheConfiguration(itemCache));
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager jCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, jCacheManager);
+            //캐시 적중/실패 횟수 집계
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            //통계를 켜면 세션이 닫힐 때마다 Session Metrics를 INFO로 남기므로 끈다.
+            properties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+        };
+    }
+}
@@ -1,8 +1,10 @@
 package company.orderApp.controller;
 
 
+import company.orderApp.controller.request.CartBatchRequest;
 import company.orderApp.controller.request.CartRequest;
 import company.orderApp.controller.response.CartDto;
+import company.orderApp.controller.response.ErrorResponse;
 import company.orderApp.discount.DiscountPolicy;
 import company.orderApp.domain.Cart;
 import company.orderApp.domain.User;
@@ -12,6 +14,9 @@ import company.orderApp.repository.CartRepository;
 import company.orderApp.repository.ItemRepository;
 import company.orderApp.repository.UserRepository;
 import company.orderApp.service.CartService;
+import company.orderApp.service.cart.CartOperation;
+import company.orderApp.service.cart.CartStore;
+import company.orderApp.service.exception.CartAlreadyOrderedException;
 import company.orderApp.service.exception.NonExistentItemException;
 import company.orderApp.service.exception.NonExistentUserException;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +26,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -31,6 +37,7 @@ public class CartController {
 
     private final ItemRepository itemRepository;
     private final CartService cartService;
+    private final CartStore cartStore;
     private final UserRepository userRepository;
     private final DiscountPolicy discountPolicy;
 
@@ -39,7 +46,11 @@ public class CartController {
      */
     @GetMapping("")
     public CartDto cart(@AuthenticationPrincipal User user) {
-        Optional<Cart> optionalCart = cartService.findCurrentCart(user);
+        if (cartStore.isEnabled()) {
+            return cartStore.view(user.getId());
+        }
+
+        Optional<Cart> optionalCart = cartService.findCurrentCart(user.getId());
 
         if (optionalCart.isEmpty()) {
             return new CartDto();
@@ -65,11 +76,20 @@ public class CartController {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NonExistentItemException("존재하지 않는 상품입니다."));
 
+        if (cartStore.isEnabled()) {
+            cartStore.add(userId, item, count);
+            return new ResponseEntity(HttpStatus.OK);
+        }
 
         OrderItem orderedItem =
                 OrderItem.createOrderItem(item, item.getPrice(), count, discountPolicy.discount(count, item.getMinimumQuantityForDiscount()));
 
-        cartService.addItem(userId, orderedItem);
+        try {
+            cartService.addItem(userId, orderedItem);
+        } catch (CartAlreadyOrderedException e) {
+            //장바구니를 찾은 뒤 주문이 끝났다. 다시 요청하면 새 장바구니에 담는다.
+            return new ResponseEntity(new ErrorResponse(e), HttpStatus.CONFLICT);
+        }
 
         return new ResponseEntity(HttpStatus.OK);
     }
@@ -79,7 +99,16 @@ public class CartController {
      */
     @DeleteMapping("")
     public ResponseEntity deleteItem(@AuthenticationPrincipal User user, @RequestBody CartRequest cartRequest) {
-        cartService.removeItem(user.getId(), cartRequest.getItemId());
+        if (cartStore.isEnabled()) {
+            cartStore.remove(user.getId(), cartRequest.getItemId());
+            return new ResponseEntity(HttpStatus.OK);
+        }
+
+        try {
+            cartService.removeItem(user.getId(), cartRequest.getItemId());
+        } catch (CartAlreadyOrderedException e) {
+            return new ResponseEntity(new ErrorResponse(e), HttpStatus.CONFLICT);
+        }
 
         return new ResponseEntity(HttpStatus.OK);
     }
@@ -93,9 +122,47 @@ public class CartController {
         Long itemId = cartRequest.getItemId();
         int count = cartRequest.getCount();
 
-        cartService.changeItemCount(userId, itemId, count);
+        if (cartStore.isEnabled()) {
+            Item item = itemRepository.findById(itemId)
+                    .orElseThrow(() -> new NonExistentItemException("존재하지 않는 상품입니다."));
+            cartStore.changeCount(userId, item, count);
+            return new ResponseEntity(HttpStatus.OK);
+        }
+
+        try {
+            cartService.changeItemCount(userId, itemId, count);
+        } catch (CartAlreadyOrderedException e) {
+            return new ResponseEntity(new ErrorResponse(e), HttpStatus.CONFLICT);
+        }
 
         return new ResponseEntity(HttpStatus.OK);
     }
 
+    /**
+     * 장바구니 일괄 변경
+     * 담기(ADD), 수량 지정(SET), 빼기(REMOVE) 작업 목록을 한 트랜잭션으로 반영하고 결과 장바구니를 반환한다.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> applyBatch(@RequestBody CartBatchRequest request) {
+        List<CartOperation> operations = request.toOperations();
+        if (operations.stream().anyMatch(operation -> operation == null || operation.getType() == null || operation.getItemId() == null)) {
+            return new ResponseEntity<>(new ErrorResponse(new IllegalArgumentException("작업 종류와 상품 id는 필수입니다.")), HttpStatus.BAD_REQUEST);
+        }
+        if (operations.stream().anyMatch(operation -> operation.getType() == CartOperation.Type.ADD && operation.getCount() <= 0)) {
+            return new ResponseEntity<>(new ErrorResponse(new IllegalArgumentException("담기 수량은 1개 이상이어야 합니다.")), HttpStatus.BAD_REQUEST);
+        }
+
+        try {
+            CartDto cart = cartStore.isEnabled()
+                    ? cartStore.apply(request.getUserId(), operations)
+                    : cartService.applyBatch(request.getUserId(), operations);
+
+            return new ResponseEntity<>(cart, HttpStatus.OK);
+        } catch (NonExistentItemException | NonExistentUserException e) {
+            return new ResponseEntity<>(new ErrorResponse(e), HttpStatus.BAD_REQUEST);
+        } catch (CartAlreadyOrderedException e) {
+            return new ResponseEntity<>(new ErrorResponse(e), HttpStatus.CONFLICT);
+        }
+    }
+
 }
@@ -0,0 +1,145 @@
+package company.orderApp.controller;
+
+
+import company.orderApp.service.image.ItemImageStore;
+import company.orderApp.service.image.StoredImage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+@RestController
+@Slf4j
+@RequiredArgsConstructor
+@RequestMapping("/api/images")
+public class ImageController {
+
+    private final ItemImageStore itemImageStore;
+
+    /**
+     * 상품 이미지 조회
+     * size=thumb이면 목록용 썸네일을 반환한다.
+     * 파일명이 내용의 해시이므로 변하지 않는 리소스로 캐시하게 하고, Range 요청을 지원한다.
+     * 썸네일이 아직 없어 원본을 대신 보낼 때는 오래 캐시하지 않는다.
+     */
+    @GetMapping("/{name}")
+    public void image(@PathVariable("name") String name,
+                      @RequestParam(value = "size", required = false) String size,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        Optional<StoredImage> optionalImage = "thumb".equals(size)
+                ? itemImageStore.findThumbnail(name)
+                : itemImageStore.findOriginal(name);
+
+        if (optionalImage.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        StoredImage image = optionalImage.get();
+
+        try (FileChannel channel = FileChannel.open(image.getPath(), StandardOpenOption.READ)) {
+            long fileLength = channel.size();
+
+            response.setHeader(HttpHeaders.ETAG, image.getETag());
+            //썸네일 대신 보내는 원본은 썸네일이 만들어지면 다시 받도록 매번 ETag로 확인하게 한다.
+            response.setHeader(HttpHeaders.CACHE_CONTROL, image.isImmutable() ? "private, max-age=31536000, immutable" : "no-cache");
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+            if (image.getETag().equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+
+            long start = 0;
+            long end = fileLength - 1;
+
+            String range = request.getHeader(HttpHeaders.RANGE);
+            String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+            //If-Range가 현재 ETag와 다르면 Range를 무시하고 전체를 보낸다.
+            if (range != null && (ifRange == null || ifRange.equals(image.getETag()))) {
+                long[] bounds = parseRange(range, fileLength);
+
+                if (bounds == null) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + fileLength);
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                if (bounds.length == 2) {
+                    start = bounds[0];
+                    end = bounds[1];
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + fileLength);
+                }
+            }
+
+            long length = end - start + 1;
+            response.setContentType(image.getContentType());
+            response.setContentLengthLong(length);
+
+            //파일 채널에서 응답 스트림으로 바로 전송해 힙 버퍼로 복사하지 않는다.
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, out);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+                remaining -= written;
+            }
+        }
+    }
+
+    /**
+     * 단일 범위(bytes=a-b, bytes=a-, bytes=-n)만 지원한다.
+     * @return 만족할 수 없는 범위면 null, 여러 범위 등 지원하지 않는 형식이면 빈 배열(전체 전송)
+     */
+    private long[] parseRange(String range, long fileLength) {
+        if (!range.startsWith("bytes=") || range.contains(",")) {
+            return new long[0];
+        }
+
+        String spec = range.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+
+        try {
+            String from = spec.substring(0, dash).trim();
+            String to = spec.substring(dash + 1).trim();
+
+            long start;
+            long end;
+            if (from.isEmpty()) {
+                //마지막 n 바이트
+                long suffix = Long.parseLong(to);
+                if (suffix <= 0) {
+                    return null;
+                }
+                start = Math.max(0, fileLength - suffix);
+                end = fileLength - 1;
+            } else {
+                start = Long.parseLong(from);
+                end = to.isEmpty() ? fileLength - 1 : Math.min(Long.parseLong(to), fileLength - 1);
+            }
+
+            if (start >= fileLength || start > end) {
+                return null;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
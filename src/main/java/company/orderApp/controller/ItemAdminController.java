@@ -1,13 +1,28 @@
 package company.orderApp.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import company.orderApp.controller.request.ItemRequest;
+import company.orderApp.controller.response.ErrorResponse;
+import company.orderApp.controller.response.ItemImportError;
+import company.orderApp.controller.response.ItemImportResponse;
+import company.orderApp.controller.util.ItemImportReader;
 import company.orderApp.domain.item.Item;
 import company.orderApp.service.ItemService;
+import company.orderApp.service.exception.InvalidImageException;
+import company.orderApp.service.exception.InvalidImportException;
+import company.orderApp.service.image.ItemImageStore;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 
 @RestController
 @Slf4j
@@ -16,6 +31,8 @@ import org.springframework.web.bind.annotation.*;
 public class ItemAdminController {
 
     private final ItemService itemService;
+    private final ItemImageStore itemImageStore;
+    private final ObjectMapper objectMapper;
 
     /**
      * 상품 등록
@@ -32,6 +49,88 @@ public class ItemAdminController {
     }
 
 
+    /**
+     * 상품 일괄 등록
+     * JSON 배열 또는 CSV(Content-Type: text/csv)로 ItemRequest 목록을 받는다.
+     * 올바른 행만 등록하고 잘못된 행은 행 번호와 사유를 반환한다.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<?> registerItems(HttpServletRequest request) throws IOException {
+        List<Item> items = new ArrayList<>();
+        List<Integer> rows = new ArrayList<>();
+        List<ItemImportError> errors = new ArrayList<>();
+        int[] total = {0};
+
+        ItemImportReader.RowHandler handler = new ItemImportReader.RowHandler() {
+            @Override
+            public void onRow(int row, ItemRequest r) {
+                total[0] = row;
+                items.add(Item.createItem(r.getName(), r.getPrice(), r.getImgPath(), r.getItemNumber(), r.getManufacturer(), r.getDescription(), r.getMinimumQuantityForDiscount(), r.getIsBest()));
+                rows.add(row);
+            }
+
+            @Override
+            public void onError(int row, String message) {
+                total[0] = Math.max(total[0], row);
+                errors.add(new ItemImportError(row, message));
+            }
+        };
+
+        ItemImportReader reader = new ItemImportReader(objectMapper);
+        String contentType = request.getContentType();
+        try {
+            if (contentType != null && contentType.startsWith("text/csv")) {
+                reader.readCsv(request.getInputStream(), handler);
+            } else {
+                reader.readJson(request.getInputStream(), handler);
+            }
+        } catch (InvalidImportException e) {
+            //본문이 깨졌으면 아무것도 등록하지 않는다.
+            return new ResponseEntity<>(new ItemImportError(e.getRow(), e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+
+        int imported = items.size();
+        if (!items.isEmpty()) {
+            for (int index : itemService.registerItems(items)) {
+                errors.add(new ItemImportError(rows.get(index), "베스트 상품 수 제한을 넘어 등록하지 않았습니다."));
+                imported--;
+            }
+            errors.sort(Comparator.comparingInt(ItemImportError::getRow));
+        }
+
+        return new ResponseEntity<>(new ItemImportResponse(total[0], imported, errors), HttpStatus.OK);
+    }
+
+
+    /**
+     * 상품 수정
+     */
+    @PutMapping("{id}")
+    public ResponseEntity<?> updateItem(@PathVariable("id") Long id, @RequestBody ItemRequest request) {
+
+        itemService.updateItem(id, request.getName(), request.getPrice(), request.getImgPath(), request.getItemNumber(), request.getManufacturer(), request.getDescription(), request.getMinimumQuantityForDiscount(), request.getIsBest());
+
+        return new ResponseEntity<>(HttpStatus.OK);
+    }
+
+
+    /**
+     * 상품 이미지 업로드
+     * 이미지를 앱 내부 저장소에 저장하고 상품의 이미지 경로를 바꾼다. 썸네일은 백그라운드에서 만들어진다.
+     */
+    @PostMapping("{id}/image")
+    public ResponseEntity<?> uploadImage(@PathVariable("id") Long id, @RequestParam("file") MultipartFile file) {
+        try {
+            String name = itemImageStore.store(file);
+            itemService.changeImage(id, ItemImageStore.URL_PREFIX + name);
+
+            return new ResponseEntity<>(HttpStatus.OK);
+        } catch (InvalidImageException e) {
+            return new ResponseEntity<>(new ErrorResponse(e), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+
     /**
      * 상품 삭제
      */
@@ -1,20 +1,19 @@
 package company.orderApp.controller;
 
 
-import company.orderApp.controller.request.ItemRequest;
-import company.orderApp.controller.response.ItemDetailDto;
-import company.orderApp.controller.response.ItemDto;
-import company.orderApp.controller.response.ResultResponse;
-import company.orderApp.domain.item.Item;
-import company.orderApp.repository.ItemRepository;
+import company.orderApp.controller.response.CatalogChangesDto;
+import company.orderApp.controller.response.ItemChangeDto;
+import company.orderApp.controller.response.ItemSearchResponse;
+import company.orderApp.service.ItemSearchService;
 import company.orderApp.service.ItemService;
-import company.orderApp.service.exception.NonExistentItemException;
+import company.orderApp.service.catalog.ItemCatalog;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -24,23 +23,59 @@ import java.util.List;
 public class ItemController {
 
     private final ItemService itemService;
-    private final ItemRepository itemRepository;
+    private final ItemCatalog itemCatalog;
+    private final ItemSearchService itemSearchService;
 
 
+    /**
+     * 상품 목록 조회
+     * 메모리의 카탈로그 스냅샷에 직렬화해 둔 본문으로 응답하며, 클라이언트가 가진 ETag가 최신이면 304를 반환한다.
+     */
     @GetMapping("")
-    public ResultResponse items() {
-        List<Item> items = itemRepository.findAllByVisibleTrue();
-        List<ItemDto> result = items.stream().map(ItemDto::new).toList();
+    public void items(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        itemCatalog.current().getListBody().writeTo(request, response);
+    }
 
-        return new ResultResponse(result.size(), result);
+    /**
+     * 베스트 상품 목록 조회
+     */
+    @GetMapping("/best")
+    public void bestItems(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        itemCatalog.current().getBestBody().writeTo(request, response);
     }
 
-    @GetMapping("{id}")
-    public ItemDetailDto itemDetails(@PathVariable("id") Long itemId) {
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new NonExistentItemException("존재하지 않는 상품입니다."));
+    /**
+     * 상품 검색
+     * 상품명, 제조사, 제품번호, 설명에서 검색어를 포함하는 상품을 id 순으로 조회한다.
+     */
+    @GetMapping("/search")
+    public ItemSearchResponse search(@RequestParam(value = "q") String query,
+                                     @RequestParam(value = "after", required = false) Long after,
+                                     @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return itemSearchService.search(query, after, limit);
+    }
+
+    /**
+     * 상품 변경분 조회
+     * since 이후 등록/수정/숨김 처리된 상품만 반환한다. 응답의 version을 다음 요청의 since로 사용한다.
+     */
+    @GetMapping("/changes")
+    public CatalogChangesDto changes(@RequestParam(value = "since", defaultValue = "0") long since) {
+        long version = itemService.findCatalogVersion();
 
-        return new ItemDetailDto(item);
+        List<ItemChangeDto> result = itemService.findChangedItems(since).stream()
+                .map(ItemChangeDto::new)
+                .toList();
+
+        return new CatalogChangesDto(version, result.size(), result);
+    }
+
+    /**
+     * 상품 상세 조회
+     */
+    @GetMapping("{id}")
+    public void itemDetails(@PathVariable("id") Long itemId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        itemCatalog.detail(itemId).writeTo(request, response);
     }
 
 
@@ -0,0 +1,50 @@
+package company.orderApp.controller;
+
+
+import company.orderApp.CacheConfig;
+import company.orderApp.controller.response.CacheStatsDto;
+import company.orderApp.controller.response.CheckoutStatsDto;
+import company.orderApp.service.CheckoutMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Slf4j
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/metrics")
+public class MetricsAdminController {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CheckoutMetrics checkoutMetrics;
+
+    /**
+     * 상품 2차 캐시 적중/실패 횟수 조회
+     */
+    @GetMapping("/item-cache")
+    public CacheStatsDto itemCache() {
+        CacheRegionStatistics stats = entityManagerFactory.unwrap(SessionFactory.class)
+                .getStatistics()
+                .getDomainDataRegionStatistics(CacheConfig.ITEM_REGION);
+
+        long hit = stats.getHitCount();
+        long miss = stats.getMissCount();
+        double ratio = hit + miss == 0 ? 0 : (double) hit / (hit + miss);
+
+        return new CacheStatsDto(CacheConfig.ITEM_REGION, hit, miss, stats.getPutCount(), ratio);
+    }
+
+    /**
+     * 장바구니 주문 경합 조회 (충돌 횟수, 장바구니 행 잠금 대기 시간)
+     */
+    @GetMapping("/checkout")
+    public CheckoutStatsDto checkout() {
+        return new CheckoutStatsDto(checkoutMetrics.getAttempts(), checkoutMetrics.getSucceeded(), checkoutMetrics.getConflicts(),
+                checkoutMetrics.getAverageLockWaitMillis(), checkoutMetrics.getMaxLockWaitMillis());
+    }
+}
@@ -1,19 +1,35 @@
 package company.orderApp.controller;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import company.orderApp.controller.request.OrderStatusChangeRequest;
+import company.orderApp.controller.response.ErrorResponse;
+import company.orderApp.controller.response.JobResultDto;
 import company.orderApp.controller.response.OrderAdminDto;
+import company.orderApp.controller.response.OrderStatusChangeResponse;
 import company.orderApp.controller.response.ResultResponse;
-import company.orderApp.domain.order.Order;
-import company.orderApp.repository.OrderRepository;
+import company.orderApp.controller.util.OrderCursorCodec;
+import company.orderApp.controller.util.OrderExportWriter;
+import company.orderApp.service.OrderArchiveService;
+import company.orderApp.service.OrderService;
+import company.orderApp.service.OrderStatusBulkChanger;
+import company.orderApp.service.OrderTotalsBackfill;
+import company.orderApp.service.exception.IllegalOrderStatusException;
+import company.orderApp.service.exception.InvalidCursorException;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.Date;
 import java.util.List;
@@ -25,18 +41,119 @@ import java.util.List;
 public class OrderAdminController {
 
 
-    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+    private final ObjectMapper objectMapper;
+    private final OrderTotalsBackfill orderTotalsBackfill;
+    private final OrderArchiveService orderArchiveService;
+    private final OrderStatusBulkChanger orderStatusBulkChanger;
 
     @GetMapping("")
-    public ResultResponse orders(@RequestParam(value = "date") @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime date,
-                                 @RequestParam(value = "offset", defaultValue = "0") int offset,
-                                 @RequestParam(value = "limit", defaultValue = "20") int limit) {
-        List<Order> orders = orderRepository.findAllByDate(date, offset, limit);
+    public ResponseEntity<?> orders(@RequestParam(value = "date") @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime date,
+                                    @RequestParam(value = "offset", defaultValue = "0") int offset,
+                                    @RequestParam(value = "cursor", required = false) String cursor,
+                                    @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        //offset은 기존 클라이언트 호환용. 그 외에는 커서로 다음 페이지를 조회한다.
+        if (offset > 0) {
+            List<OrderAdminDto> result = orderService.findOrdersByDate(date, offset, limit);
+            return new ResponseEntity<>(new ResultResponse<>(result.size(), result), HttpStatus.OK);
+        }
 
-        List<OrderAdminDto> result = orders.stream().map(OrderAdminDto::new).toList();
+        try {
+            List<OrderAdminDto> result = orderService.findOrdersByDate(date, OrderCursorCodec.decode(cursor), limit);
 
-        return new ResultResponse(result.size(), result);
+            String next = null;
+            if (result.size() == limit) {
+                OrderAdminDto last = result.get(result.size() - 1);
+                next = OrderCursorCodec.encode(last.getOrderDate(), last.getId());
+            }
+
+            return new ResponseEntity<>(new ResultResponse<>(result.size(), result, next), HttpStatus.OK);
+        } catch (InvalidCursorException e) {
+            return new ResponseEntity<>(new ErrorResponse(e), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+
+    /**
+     * 기간 내 주문 내보내기 (CSV / NDJSON)
+     * 주문 상품 1개가 1행이며, DB에서 읽는 대로 응답에 흘려보낸다.
+     */
+    @GetMapping("/export")
+    public void export(@RequestParam(value = "from") @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime from,
+                       @RequestParam(value = "to") @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime to,
+                       @RequestParam(value = "format", defaultValue = OrderExportWriter.CSV) String format,
+                       HttpServletResponse response) throws IOException {
+        if (!OrderExportWriter.supports(format) || !from.isBefore(to)) {
+            response.sendError(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+
+        response.setContentType(OrderExportWriter.contentType(format));
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("orders." + format)
+                .build()
+                .toString());
+
+        OrderExportWriter writer = new OrderExportWriter(objectMapper, format, response.getOutputStream());
+        writer.writeHeader();
+        orderService.exportOrders(from, to, writer);
+        writer.finish();
+    }
+
+    /**
+     * 결제 확인
+     */
+    @PostMapping("/{id}/confirm")
+    public ResponseEntity<?> confirm(@PathVariable("id") Long id) {
+        try {
+            orderService.confirmOrder(id);
+        } catch (IllegalOrderStatusException e) {
+            return new ResponseEntity<>(new ErrorResponse(e), HttpStatus.CONFLICT);
+        } catch (OptimisticLockingFailureException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        }
+
+        return new ResponseEntity<>(HttpStatus.OK);
+    }
+
+    /**
+     * 주문 취소
+     */
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<?> cancel(@PathVariable("id") Long id) {
+        try {
+            orderService.cancelOrder(id);
+        } catch (IllegalOrderStatusException e) {
+            return new ResponseEntity<>(new ErrorResponse(e), HttpStatus.CONFLICT);
+        } catch (OptimisticLockingFailureException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        }
+
+        return new ResponseEntity<>(HttpStatus.OK);
     }
 
+    /**
+     * 주문 일괄 결제 확인 / 취소
+     * 바꿀 수 없는 상태이거나 다른 요청과 충돌한 주문은 conflicts로 응답한다.
+     */
+    @PostMapping("/status")
+    public OrderStatusChangeResponse changeStatus(@RequestBody OrderStatusChangeRequest request) {
+        return orderStatusBulkChanger.change(request.getOrderIds(), request.getStatus());
+    }
+
+    /**
+     * 보관 기간이 지난 주문을 지금 보관 테이블로 옮기기 (매일 새벽 자동 실행)
+     */
+    @PostMapping("/archive")
+    public JobResultDto archive() {
+        return new JobResultDto("order-archive", orderArchiveService.archive());
+    }
 
+    /**
+     * 금액 합계가 없는 기존 주문의 합계 채우기
+     */
+    @PostMapping("/totals/backfill")
+    public JobResultDto backfillTotals(@RequestParam(value = "chunkSize", defaultValue = "500") int chunkSize) {
+        return new JobResultDto("order-totals-backfill", orderTotalsBackfill.run(chunkSize));
+    }
 }
@@ -1,34 +1,52 @@
 package company.orderApp.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import company.orderApp.controller.request.OrderRequest;
 import company.orderApp.controller.request.OrderRequestByCart;
+import company.orderApp.controller.response.ArchivedOrderDto;
+import company.orderApp.controller.response.ErrorResponse;
 import company.orderApp.controller.response.OrderDto;
+import company.orderApp.controller.response.OrderTicketDto;
 import company.orderApp.controller.response.ResultResponse;
 import company.orderApp.discount.DiscountPolicy;
 import company.orderApp.domain.Address;
 import company.orderApp.domain.Cart;
 import company.orderApp.domain.Delivery;
-import company.orderApp.domain.User;
 import company.orderApp.domain.item.Item;
-import company.orderApp.domain.order.Order;
 import company.orderApp.domain.order.OrderItem;
 import company.orderApp.domain.order.Receipt;
 import company.orderApp.repository.ItemRepository;
-import company.orderApp.repository.OrderRepository;
-import company.orderApp.repository.UserRepository;
 import company.orderApp.service.CartService;
+import company.orderApp.service.CheckoutLine;
+import company.orderApp.service.CheckoutService;
+import company.orderApp.service.OrderArchiveService;
 import company.orderApp.service.OrderService;
+import company.orderApp.service.cart.CartStore;
+import company.orderApp.service.exception.CartAlreadyOrderedException;
+import company.orderApp.service.exception.InvalidCursorException;
+import company.orderApp.service.idempotency.IdempotencyResult;
+import company.orderApp.service.idempotency.IdempotencyStore;
+import company.orderApp.service.intake.OrderCommand;
+import company.orderApp.service.intake.OrderIntake;
+import company.orderApp.service.intake.OrderTicket;
 import company.orderApp.service.exception.NonExistentCartException;
 import company.orderApp.service.exception.NonExistentItemException;
-import company.orderApp.service.exception.NonExistentUserException;
+import company.orderApp.controller.util.OrderCursorCodec;
 import company.orderApp.controller.util.ReceiptFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 @RestController
 @Slf4j
@@ -36,27 +54,73 @@ import java.util.List;
 @RequestMapping("/api/orders")
 public class OrderController {
 
-    private final OrderRepository orderRepository;
     private final OrderService orderService;
+    private final OrderArchiveService orderArchiveService;
     private final CartService cartService;
-    private final UserRepository userRepository;
+    private final CheckoutService checkoutService;
+    private final CartStore cartStore;
     private final ItemRepository itemRepository;
     private final DiscountPolicy discountPolicy;
+    private final OrderIntake orderIntake;
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+
+    private static final int RETRY_AFTER_SECONDS = 1;
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
 
     /**
      * 주문 내역 보기
      */
 
     @GetMapping("/details")
-    public ResultResponse orderPage(@RequestParam(value = "offset", defaultValue = "0") int offset,
-                                    @RequestParam(value = "limit", defaultValue = "100") int limit,
-                                    @RequestParam(value = "id") long userId) {
-        List<Order> orders = orderRepository.findRecentAllByUser(userId, offset, limit);
-        List<OrderDto> result = orders.stream()
-                .map(OrderDto::new)
-                .toList();
-
-        return new ResultResponse<>(result.size(), result);
+    public ResponseEntity<?> orderPage(@RequestParam(value = "offset", defaultValue = "0") int offset,
+                                       @RequestParam(value = "cursor", required = false) String cursor,
+                                       @RequestParam(value = "limit", defaultValue = "100") int limit,
+                                       @RequestParam(value = "id") long userId) {
+        //offset은 기존 클라이언트 호환용. 그 외에는 커서로 다음 페이지를 조회한다.
+        if (offset > 0) {
+            List<OrderDto> result = orderService.findRecentOrders(userId, offset, limit);
+            return new ResponseEntity<>(new ResultResponse<>(result.size(), result), HttpStatus.OK);
+        }
+
+        try {
+            List<OrderDto> result = orderService.findRecentOrders(userId, OrderCursorCodec.decode(cursor), limit);
+
+            String next = null;
+            if (result.size() == limit) {
+                OrderDto last = result.get(result.size() - 1);
+                next = OrderCursorCodec.encode(last.getOrderDate(), last.getId());
+            }
+
+            return new ResponseEntity<>(new ResultResponse<>(result.size(), result, next), HttpStatus.OK);
+        } catch (InvalidCursorException e) {
+            return new ResponseEntity<>(new ErrorResponse(e), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+
+    /**
+     * 보관된 주문 내역 보기
+     * 보관 기간이 지나 보관 테이블로 옮겨진 주문만 조회하며, 최근 주문 내역보다 느릴 수 있다.
+     */
+    @GetMapping("/archive")
+    public ResponseEntity<?> archivedOrderPage(@RequestParam(value = "cursor", required = false) String cursor,
+                                               @RequestParam(value = "limit", defaultValue = "20") int limit,
+                                               @RequestParam(value = "id") long userId) {
+        try {
+            List<ArchivedOrderDto> result = orderArchiveService.findArchivedOrders(userId, OrderCursorCodec.decode(cursor), limit);
+
+            String next = null;
+            if (result.size() == limit) {
+                ArchivedOrderDto last = result.get(result.size() - 1);
+                next = OrderCursorCodec.encode(last.getOrderDate(), last.getId());
+            }
+
+            return new ResponseEntity<>(new ResultResponse<>(result.size(), result, next), HttpStatus.OK);
+        } catch (InvalidCursorException e) {
+            return new ResponseEntity<>(new ErrorResponse(e), HttpStatus.BAD_REQUEST);
+        }
     }
 
 
@@ -64,23 +128,44 @@ public class OrderController {
      * 장바구니를 통해 주문하기
      */
     @PostMapping("/cart")
-    public ResponseEntity orderByCart(@RequestBody OrderRequestByCart orderRequest) {
-        Long userId = orderRequest.getUserId();
+    public ResponseEntity<?> orderByCart(@RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                         @RequestBody OrderRequestByCart orderRequest) {
+        return idempotent(orderRequest.getUserId(), "/api/orders/cart", idempotencyKey, () -> placeOrderByCart(orderRequest));
+    }
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NonExistentUserException("존재하지 않는 회원입니다."));
+    private ResponseEntity<?> placeOrderByCart(OrderRequestByCart orderRequest) {
+        Long userId = orderRequest.getUserId();
 
-        Cart cart = cartService.findCurrentCart(user)
-                .orElseThrow(() -> new NonExistentCartException("존재하지 않는 장바구니입니다."));
+        //메모리에만 있는 장바구니 변경을 먼저 DB에 쓴다.
+        Long storedCartId = cartStore.isEnabled() ? cartStore.flush(userId) : null;
 
         Address address = new Address(orderRequest.getStoreName(), orderRequest.getRoadAddress(), orderRequest.getZoneCode(), orderRequest.getDetail());
-        Delivery delivery = Delivery.createDelivery(address);
-
         Receipt receipt = ReceiptFactory.issueReceipt(orderRequest.getReceipt());
 
-        orderService.orderByCart(userId, cart.getId(), delivery, orderRequest.getPhoneNumber(), receipt, orderRequest.getRequest());
+        if (orderIntake.isEnabled()) {
+            //접수 시점의 장바구니로 주문한다. 저장할 때 장바구니가 이 상품들과 다르면 주문하지 않는다.
+            //메모리 장바구니는 주문이 저장된 뒤 OrderIntake가 비운다.
+            Cart cart = cartService.findCurrentCart(userId)
+                    .orElseThrow(() -> new NonExistentCartException("존재하지 않는 장바구니입니다."));
+            List<CheckoutLine> lines = cart.getOrderItems().values().stream()
+                    .map(CheckoutLine::of)
+                    .toList();
 
-        return new ResponseEntity(HttpStatus.OK);
+            return accept(orderIntake.submit(OrderCommand.byCart(userId, cart.getId(), lines, address, orderRequest.getPhoneNumber(), receipt, orderRequest.getRequest())));
+        }
+
+        Delivery delivery = Delivery.createDelivery(address);
+        try {
+            checkoutService.checkout(userId, delivery, orderRequest.getPhoneNumber(), receipt, orderRequest.getRequest());
+        } catch (CartAlreadyOrderedException e) {
+            //같은 장바구니로 동시에 들어온 주문 중 먼저 처리된 주문이 있다.
+            return new ResponseEntity<>(new ErrorResponse(e), HttpStatus.CONFLICT);
+        }
+        if (cartStore.isEnabled()) {
+            cartStore.ordered(userId, storedCartId);
+        }
+
+        return new ResponseEntity<>(HttpStatus.OK);
 
     }
 
@@ -88,27 +173,110 @@ public class OrderController {
      * 바로 구매하기
      */
     @PostMapping("")
-    public ResponseEntity order(@RequestBody OrderRequest orderRequest) {
+    public ResponseEntity<?> order(@RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                   @RequestBody OrderRequest orderRequest) {
+        return idempotent(orderRequest.getUserId(), "/api/orders", idempotencyKey, () -> placeOrder(orderRequest));
+    }
+
+    private ResponseEntity<?> placeOrder(OrderRequest orderRequest) {
         Long itemId = orderRequest.getItemId();
         int quantity = orderRequest.getQuantity();
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NonExistentItemException("존재하지 않는 상품입니다."));
 
         Address address = new Address(orderRequest.getStoreName(), orderRequest.getRoadAddress(), orderRequest.getZoneCode(), orderRequest.getDetail());
-        Delivery delivery = Delivery.createDelivery(address);
-
         Receipt receipt = ReceiptFactory.issueReceipt(orderRequest.getReceipt());
 
+        if (orderIntake.isEnabled()) {
+            return accept(orderIntake.submit(OrderCommand.byItem(orderRequest.getUserId(), itemId, quantity, address, orderRequest.getPhoneNumber(), receipt, orderRequest.getRequest())));
+        }
 
+        Delivery delivery = Delivery.createDelivery(address);
 
         OrderItem orderItem = OrderItem.createOrderItem(item, item.getPrice(), quantity, discountPolicy.discount(quantity, item.getMinimumQuantityForDiscount()));
 
         orderService.orderByItem(orderRequest.getUserId(), delivery, orderItem, orderRequest.getPhoneNumber(), receipt, orderRequest.getRequest());
 
-        return new ResponseEntity(HttpStatus.OK);
+        return new ResponseEntity<>(HttpStatus.OK);
     }
 
+    /**
+     * 비동기로 접수한 주문의 처리 상태 조회
+     */
+    @GetMapping("/tickets/{ticketId}")
+    public ResponseEntity<?> ticket(@PathVariable("ticketId") String ticketId) {
+        return orderIntake.findTicket(ticketId)
+                .<ResponseEntity<?>>map(ticket -> new ResponseEntity<>(new OrderTicketDto(ticket), HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
 
+    /**
+     * 접수되면 202와 티켓을, 대기열이 가득 찼으면 503과 Retry-After를 응답한다.
+     */
+    private ResponseEntity<?> accept(Optional<OrderTicket> ticket) {
+        if (ticket.isEmpty()) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS));
+            return new ResponseEntity<>(headers, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        return new ResponseEntity<>(new OrderTicketDto(ticket.get()), HttpStatus.ACCEPTED);
+    }
 
+    /**
+     * Idempotency-Key 헤더가 있으면 같은 키의 재시도에 처음 응답을 그대로 돌려준다.
+     * 같은 키의 요청이 아직 처리 중이면 409, 처리에 실패했으면 키를 반납해 재시도할 수 있게 한다.
+     */
+    private ResponseEntity<?> idempotent(Long userId, String path, String idempotencyKey, Supplier<ResponseEntity<?>> action) {
+        if (!StringUtils.hasText(idempotencyKey)) {
+            return action.get();
+        }
+
+        String key = IdempotencyStore.scope(userId, path, idempotencyKey);
+        IdempotencyResult result = idempotencyStore.begin(key);
+
+        if (result.getState() == IdempotencyResult.State.COMPLETED) {
+            return replay(result);
+        }
+        if (result.getState() == IdempotencyResult.State.IN_PROGRESS) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        }
+
+        ResponseEntity<?> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            idempotencyStore.release(key);
+            throw e;
+        }
+
+        if (response.getStatusCode().is2xxSuccessful()) {
+            idempotencyStore.complete(key, response.getStatusCode().value(), toJson(response.getBody()));
+        } else {
+            idempotencyStore.release(key);
+        }
+        return response;
+    }
+
+    private ResponseEntity<?> replay(IdempotencyResult result) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(IDEMPOTENT_REPLAYED, "true");
+
+        if (result.getBody() == null) {
+            return new ResponseEntity<>(headers, HttpStatusCode.valueOf(result.getStatus()));
+        }
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new ResponseEntity<>(result.getBody(), headers, HttpStatusCode.valueOf(result.getStatus()));
+    }
+
+    private String toJson(Object body) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 
 }
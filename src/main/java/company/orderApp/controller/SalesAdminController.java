@@ -0,0 +1,69 @@
+package company.orderApp.controller;
+
+import company.orderApp.controller.response.DailyItemSalesDto;
+import company.orderApp.controller.response.DailySalesDto;
+import company.orderApp.controller.response.DailyStoreSalesDto;
+import company.orderApp.controller.response.JobResultDto;
+import company.orderApp.controller.response.ResultResponse;
+import company.orderApp.service.SalesRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 매출 대시보드
+ * 주문 테이블 대신 일별 집계 테이블만 읽는다.
+ */
+@RestController
+@Slf4j
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/sales")
+public class SalesAdminController {
+
+    private final SalesRollupService salesRollupService;
+
+    /**
+     * 일별 매출
+     */
+    @GetMapping("/daily")
+    public ResultResponse daily(@RequestParam(value = "from") @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate from,
+                                @RequestParam(value = "to") @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate to) {
+        List<DailySalesDto> result = salesRollupService.findDaily(from, to);
+
+        return new ResultResponse<>(result.size(), result);
+    }
+
+    /**
+     * 당일 상품별 매출 (판매 수량 순)
+     */
+    @GetMapping("/items")
+    public ResultResponse items(@RequestParam(value = "date") @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate date,
+                                @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        List<DailyItemSalesDto> result = salesRollupService.findItems(date, limit);
+
+        return new ResultResponse<>(result.size(), result);
+    }
+
+    /**
+     * 당일 가게별 매출 (결제 금액 순)
+     */
+    @GetMapping("/stores")
+    public ResultResponse stores(@RequestParam(value = "date") @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate date) {
+        List<DailyStoreSalesDto> result = salesRollupService.findStores(date);
+
+        return new ResultResponse<>(result.size(), result);
+    }
+
+    /**
+     * 기간 내 집계를 주문 테이블에서 다시 계산
+     */
+    @PostMapping("/rebuild")
+    public JobResultDto rebuild(@RequestParam(value = "from") @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate from,
+                                @RequestParam(value = "to") @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate to) {
+        return new JobResultDto("sales-rollup-rebuild", salesRollupService.rebuild(from, to));
+    }
+}
@@ -0,0 +1,36 @@
+package company.orderApp.controller.request;
+
+import company.orderApp.service.cart.CartOperation;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class CartBatchRequest {
+    private Long userId;
+    private List<Operation> operations = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    public static class Operation {
+        private CartOperation.Type type; // ADD, SET, REMOVE
+        private Long itemId;
+        private int count;
+    }
+
+    /**
+     * operations가 null이면 빈 목록, null인 작업은 null로 넘겨 요청 검증에서 거절한다.
+     */
+    public List<CartOperation> toOperations() {
+        if (operations == null) {
+            return List.of();
+        }
+        return operations.stream()
+                .map(operation -> operation == null ? null
+                        : new CartOperation(operation.getType(), operation.getItemId(), operation.getCount()))
+                .toList();
+    }
+}
@@ -0,0 +1,14 @@
+package company.orderApp.controller.request;
+
+import company.orderApp.domain.order.OrderStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class OrderStatusChangeRequest {
+    private List<Long> orderIds;
+    private OrderStatus status; // CONFIRM 또는 CANCEL
+}
@@ -0,0 +1,40 @@
+package company.orderApp.controller.response;
+
+
+import company.orderApp.domain.order.OrderArchive;
+import company.orderApp.domain.order.OrderStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class ArchivedOrderDto {
+    private Long id;
+    private List<OrderItemDto> orderItems;
+    private String storeName;
+    private String roadAddress;
+    private int zoneCode;
+    private String detail;
+    private OrderStatus status;
+    private LocalDateTime orderDate;
+    private Integer grossPrice;
+    private Integer discountPrice;
+    private Integer netPrice;
+
+    public ArchivedOrderDto(OrderArchive o, List<OrderItemDto> orderItems) {
+        this.id = o.getId();
+        this.orderItems = orderItems;
+        this.storeName = o.getStoreName();
+        this.roadAddress = o.getRoadAddress();
+        this.zoneCode = o.getZoneCode();
+        this.detail = o.getDetail();
+        this.status = o.getStatus();
+        this.orderDate = o.getOrderDate();
+        this.grossPrice = o.getGrossPrice();
+        this.discountPrice = o.getDiscountPrice();
+        this.netPrice = o.getNetPrice();
+    }
+}
@@ -14,11 +14,15 @@ public class CartDto {
 
 
     public CartDto(Cart cart) {
-        this.orderItems = cart.getOrderItems().stream()
+        this.orderItems = cart.getOrderItems().values().stream()
                 .map(OrderItemDto::new)
                 .toList();
     }
 
+    public CartDto(List<OrderItemDto> orderItems) {
+        this.orderItems = orderItems;
+    }
+
     public CartDto() {
         this.orderItems = new ArrayList<>();
     }
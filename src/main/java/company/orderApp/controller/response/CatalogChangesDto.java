@@ -0,0 +1,16 @@
+package company.orderApp.controller.response;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class CatalogChangesDto {
+    // 다음 동기화 요청의 since로 사용할 카탈로그 버전
+    private long version;
+    private int count;
+    private List<ItemChangeDto> items;
+}
@@ -0,0 +1,15 @@
+package company.orderApp.controller.response;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CheckoutStatsDto {
+    private long attempts;
+    private long succeeded;
+    private long conflicts;
+    private double averageLockWaitMillis;
+    private double maxLockWaitMillis;
+}
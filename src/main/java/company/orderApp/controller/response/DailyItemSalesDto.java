@@ -0,0 +1,25 @@
+package company.orderApp.controller.response;
+
+import company.orderApp.domain.sales.DailyItemSales;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+public class DailyItemSalesDto {
+    private LocalDate date;
+    private Long itemId;
+    private long orderCount;
+    private long quantity;
+    private long netAmount;
+
+    public DailyItemSalesDto(DailyItemSales s) {
+        this.date = s.getSalesDate();
+        this.itemId = s.getItemId();
+        this.orderCount = s.getOrderCount();
+        this.quantity = s.getQuantity();
+        this.netAmount = s.getNetAmount();
+    }
+}
@@ -0,0 +1,31 @@
+package company.orderApp.controller.response;
+
+import company.orderApp.domain.sales.DailySales;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+public class DailySalesDto {
+    private LocalDate date;
+    private long orderCount;
+    private long quantity;
+    private long grossAmount;
+    private long discountAmount;
+    private long netAmount;
+    private long confirmedCount;
+    private long cancelledCount;
+
+    public DailySalesDto(DailySales s) {
+        this.date = s.getSalesDate();
+        this.orderCount = s.getOrderCount();
+        this.quantity = s.getQuantity();
+        this.grossAmount = s.getGrossAmount();
+        this.discountAmount = s.getDiscountAmount();
+        this.netAmount = s.getNetAmount();
+        this.confirmedCount = s.getConfirmedCount();
+        this.cancelledCount = s.getCancelledCount();
+    }
+}
@@ -0,0 +1,25 @@
+package company.orderApp.controller.response;
+
+import company.orderApp.domain.sales.DailyStoreSales;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+public class DailyStoreSalesDto {
+    private LocalDate date;
+    private String storeName;
+    private long orderCount;
+    private long quantity;
+    private long netAmount;
+
+    public DailyStoreSalesDto(DailyStoreSales s) {
+        this.date = s.getSalesDate();
+        this.storeName = s.getStoreName();
+        this.orderCount = s.getOrderCount();
+        this.quantity = s.getQuantity();
+        this.netAmount = s.getNetAmount();
+    }
+}
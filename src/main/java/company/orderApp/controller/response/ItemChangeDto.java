@@ -0,0 +1,52 @@
+package company.orderApp.controller.response;
+
+
+import company.orderApp.domain.item.Item;
+import company.orderApp.service.image.ItemImageStore;
+import lombok.Data;
+
+@Data
+public class ItemChangeDto {
+
+    private Long id;
+
+    private String name;
+
+    private int price;
+
+    private String imgPath;
+
+    // 목록 화면용 썸네일 경로. 앱 내부 이미지 저장소를 쓰지 않는 상품은 원본 경로와 같다.
+    private String thumbnailPath;
+
+    private String itemNumber;
+
+    private String manufacturer;
+
+    private String description;
+
+    private int minimumQuantityForDiscount;
+
+    private boolean isBest;
+
+    // false면 숨김 처리된 상품이므로 클라이언트 목록에서 제거한다.
+    private boolean visible;
+
+    private long version;
+
+
+    public ItemChangeDto(Item item) {
+        this.id = item.getId();
+        this.name = item.getName();
+        this.price = item.getPrice();
+        this.imgPath = item.getImgPath();
+        this.thumbnailPath = ItemImageStore.thumbnailUrl(item.getImgPath());
+        this.itemNumber = item.getItemNumber();
+        this.manufacturer = item.getManufacturer();
+        this.description = item.getDescription();
+        this.minimumQuantityForDiscount = item.getMinimumQuantityForDiscount();
+        this.isBest = item.isBest();
+        this.visible = item.isVisible();
+        this.version = item.getCatalogVersion();
+    }
+}
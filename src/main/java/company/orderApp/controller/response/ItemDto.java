@@ -2,6 +2,7 @@ package company.orderApp.controller.response;
 
 
 import company.orderApp.domain.item.Item;
+import company.orderApp.service.image.ItemImageStore;
 import lombok.Data;
 
 @Data
@@ -15,6 +16,9 @@ public class ItemDto {
 
     private String imgPath;
 
+    // 목록 화면용 썸네일 경로. 앱 내부 이미지 저장소를 쓰지 않는 상품은 원본 경로와 같다.
+    private String thumbnailPath;
+
     private String itemNumber;
 
     private String manufacturer;
@@ -31,6 +35,7 @@ public class ItemDto {
         this.name = item.getName();
         this.price = item.getPrice();
         this.imgPath = item.getImgPath();
+        this.thumbnailPath = ItemImageStore.thumbnailUrl(item.getImgPath());
         this.itemNumber = item.getItemNumber();
         this.manufacturer = item.getManufacturer();
         this.description = item.getDescription();
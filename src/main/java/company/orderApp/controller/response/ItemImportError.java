@@ -0,0 +1,13 @@
+package company.orderApp.controller.response;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ItemImportError {
+    // 데이터 행 번호(1부터, CSV 헤더 제외)
+    private int row;
+    private String message;
+}
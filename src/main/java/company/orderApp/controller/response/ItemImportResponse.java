@@ -0,0 +1,15 @@
+package company.orderApp.controller.response;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ItemImportResponse {
+    private int total;
+    private int imported;
+    private List<ItemImportError> errors;
+}
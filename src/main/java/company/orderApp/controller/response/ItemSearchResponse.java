@@ -0,0 +1,16 @@
+package company.orderApp.controller.response;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ItemSearchResponse {
+    private int count;
+    private List<ItemDto> data;
+    // 다음 페이지 요청 시 after로 보낼 상품 id, 마지막 페이지면 null
+    private Long next;
+}
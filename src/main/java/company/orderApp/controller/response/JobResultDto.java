@@ -0,0 +1,11 @@
+package company.orderApp.controller.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class JobResultDto {
+    private String job;
+    private int processed;
+}
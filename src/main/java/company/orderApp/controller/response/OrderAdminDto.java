@@ -3,6 +3,7 @@ package company.orderApp.controller.response;
 
 import company.orderApp.domain.Address;
 import company.orderApp.domain.order.Order;
+import company.orderApp.domain.order.OrderItem;
 import company.orderApp.domain.order.Receipt;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -14,6 +15,7 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 public class OrderAdminDto {
+    private Long id;
     private String storeName;
     private String roadAddress;
     private int zoneCode;
@@ -22,9 +24,20 @@ public class OrderAdminDto {
     private String phoneNumber;
     private Receipt receipt;
     private LocalDateTime orderDate;
+    private Integer grossPrice;
+    private Integer discountPrice;
+    private Integer netPrice;
     private List<OrderItemAdminDto> orderItems;
 
     public OrderAdminDto(Order o) {
+        this(o, o.getOrderItems());
+    }
+
+    /**
+     * 주문 상품을 따로 조회해 둔 경우 사용. 주문의 orderItems를 지연 로딩하지 않는다.
+     */
+    public OrderAdminDto(Order o, List<OrderItem> items) {
+        id = o.getId();
         storeName = o.getDelivery().getAddress().getStoreName();
         roadAddress = o.getDelivery().getAddress().getRoadAddress();
         zoneCode = o.getDelivery().getAddress().getZoneCode();
@@ -33,7 +46,10 @@ public class OrderAdminDto {
         request = o.getRequest();
         receipt = o.getReceipt();
         orderDate = o.getOrderDate();
-        orderItems = o.getOrderItems().stream()
+        grossPrice = o.getGrossPrice();
+        discountPrice = o.getDiscountPrice();
+        netPrice = o.getNetPrice();
+        orderItems = items.stream()
                 .map(OrderItemAdminDto::new)
                 .toList();
     }
@@ -3,6 +3,7 @@ package company.orderApp.controller.response;
 
 import company.orderApp.domain.Delivery;
 import company.orderApp.domain.order.Order;
+import company.orderApp.domain.order.OrderItem;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -18,6 +19,9 @@ public class OrderDto {
     private List<OrderItemDto> orderItems;
     private Delivery delivery;
     private LocalDateTime orderDate;
+    private Integer grossPrice;
+    private Integer discountPrice;
+    private Integer netPrice;
 
     public OrderDto(Order o) {
         this.id = o.getId();
@@ -26,5 +30,23 @@ public class OrderDto {
                 .toList();
         this.orderDate = o.getOrderDate();
         this.delivery = o.getDelivery();
+        this.grossPrice = o.getGrossPrice();
+        this.discountPrice = o.getDiscountPrice();
+        this.netPrice = o.getNetPrice();
+    }
+
+    /**
+     * 주문 상품을 따로 조회해 둔 경우 사용. 주문의 orderItems를 지연 로딩하지 않는다.
+     */
+    public OrderDto(Order o, List<OrderItem> orderItems) {
+        this.id = o.getId();
+        this.orderItems = orderItems.stream()
+                .map(OrderItemDto::new)
+                .toList();
+        this.orderDate = o.getOrderDate();
+        this.delivery = o.getDelivery();
+        this.grossPrice = o.getGrossPrice();
+        this.discountPrice = o.getDiscountPrice();
+        this.netPrice = o.getNetPrice();
     }
 }
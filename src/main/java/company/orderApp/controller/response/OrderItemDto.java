@@ -1,7 +1,9 @@
 package company.orderApp.controller.response;
 
 
+import company.orderApp.domain.item.Item;
 import company.orderApp.domain.order.OrderItem;
+import company.orderApp.domain.order.OrderItemArchive;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -25,4 +27,18 @@ public class OrderItemDto {
         this.imgPath = orderItem.getItem().getImgPath();
         this.discountPrice = orderItem.getDiscountPrice();
     }
+
+    /**
+     * 보관 주문의 주문 상품. 상품 정보가 없으면 상품 id와 주문 당시 가격만 채운다.
+     */
+    public OrderItemDto(OrderItemArchive orderItem, Item item) {
+        this.id = orderItem.getItemId();
+        this.price = orderItem.getOrderPrice();
+        this.count = orderItem.getCount();
+        this.discountPrice = orderItem.getDiscountPrice();
+        if (item != null) {
+            this.name = item.getName();
+            this.imgPath = item.getImgPath();
+        }
+    }
 }
@@ -0,0 +1,15 @@
+package company.orderApp.controller.response;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class OrderStatusChangeResponse {
+    private int requested;
+    private int updated;
+    private List<OrderStatusConflict> conflicts;
+}
@@ -0,0 +1,12 @@
+package company.orderApp.controller.response;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class OrderStatusConflict {
+    private Long orderId;
+    private String message;
+}
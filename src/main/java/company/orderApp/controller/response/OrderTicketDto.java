@@ -0,0 +1,22 @@
+package company.orderApp.controller.response;
+
+import company.orderApp.service.intake.OrderTicket;
+import company.orderApp.service.intake.OrderTicketStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class OrderTicketDto {
+    private String ticketId;
+    private OrderTicketStatus status;
+    private Long orderId;
+    private String message;
+
+    public OrderTicketDto(OrderTicket ticket) {
+        this.ticketId = ticket.getId();
+        this.status = ticket.getStatus();
+        this.orderId = ticket.getOrderId();
+        this.message = ticket.getMessage();
+    }
+}
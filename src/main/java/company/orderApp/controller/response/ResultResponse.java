@@ -1,6 +1,7 @@
 package company.orderApp.controller.response;
 
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -9,4 +10,12 @@ import lombok.Data;
 public class ResultResponse<T> {
     private int count;
     private T data;
+
+    // 다음 페이지 커서. 마지막 페이지이거나 커서를 쓰지 않는 조회는 null이라 응답에서 빠진다.
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String next;
+
+    public ResultResponse(int count, T data) {
+        this(count, data, null);
+    }
 }
@@ -0,0 +1,211 @@
+package company.orderApp.controller.util;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import company.orderApp.controller.request.ItemRequest;
+import company.orderApp.service.exception.InvalidImportException;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 상품 일괄 등록 요청 본문을 한 행씩 읽는다.
+ * 본문 전체를 객체로 만들지 않고 JSON 배열 원소 / CSV 행 단위로 읽으며 검증한다.
+ */
+public class ItemImportReader {
+
+    public interface RowHandler {
+        void onRow(int row, ItemRequest request);
+
+        void onError(int row, String message);
+    }
+
+    private final ObjectMapper objectMapper;
+
+    public ItemImportReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * JSON 배열 읽기
+     * 객체가 아닌 원소는 행 오류로 기록하고 다음 원소를 읽는다.
+     * 본문이 JSON 문법에 맞지 않으면 더 읽을 수 없으므로 해당 행 번호와 함께 InvalidImportException을 던진다.
+     */
+    public void readJson(InputStream in, RowHandler handler) throws IOException {
+        int row = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                handler.onError(0, "JSON 배열 형식이어야 합니다.");
+                return;
+            }
+
+            while (true) {
+                //다음 원소를 읽다가 형식 오류가 나도 그 원소의 행 번호를 보고하도록 먼저 올린다.
+                row++;
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.END_ARRAY) {
+                    break;
+                }
+                if (token == null) {
+                    throw new InvalidImportException(row, "JSON 배열이 닫히지 않았습니다.");
+                }
+
+                if (token != JsonToken.START_OBJECT) {
+                    //배열 원소라면 통째로 건너뛴다.
+                    parser.skipChildren();
+                    handler.onError(row, "객체가 아닌 원소입니다.");
+                    continue;
+                }
+
+                //원소 단위로 트리를 읽어 한 행의 변환 오류가 다음 행에 영향을 주지 않게 한다.
+                JsonNode node = parser.readValueAsTree();
+                try {
+                    validate(row, objectMapper.treeToValue(node, ItemRequest.class), handler);
+                } catch (JsonProcessingException e) {
+                    handler.onError(row, "형식이 올바르지 않습니다: " + e.getOriginalMessage());
+                }
+            }
+        } catch (JsonParseException e) {
+            throw new InvalidImportException(row, "JSON 형식이 올바르지 않습니다: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    /**
+     * CSV 읽기
+     * 첫 행은 ItemRequest 필드명으로 된 헤더여야 한다.
+     */
+    public void readCsv(InputStream in, RowHandler handler) throws IOException {
+        try (Reader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            List<String> header = readRecord(reader);
+            if (header == null) {
+                handler.onError(0, "헤더가 없습니다.");
+                return;
+            }
+            //UTF-8 BOM 제거
+            if (!header.isEmpty() && header.get(0).startsWith("\uFEFF")) {
+                header.set(0, header.get(0).substring(1));
+            }
+
+            int row = 0;
+            List<String> record;
+            while ((record = readRecord(reader)) != null) {
+                row++;
+                if (record.size() == 1 && record.get(0).isEmpty()) {
+                    continue;
+                }
+                if (record.size() != header.size()) {
+                    handler.onError(row, "열 개수가 헤더와 다릅니다.");
+                    continue;
+                }
+
+                Map<String, String> values = new HashMap<>();
+                for (int i = 0; i < header.size(); i++) {
+                    values.put(header.get(i).trim(), record.get(i).trim());
+                }
+
+                try {
+                    validate(row, toRequest(values), handler);
+                } catch (NumberFormatException e) {
+                    handler.onError(row, "숫자 형식이 올바르지 않습니다: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private ItemRequest toRequest(Map<String, String> values) {
+        ItemRequest request = new ItemRequest();
+        request.setName(values.get("name"));
+        request.setPrice(Integer.parseInt(values.getOrDefault("price", "0")));
+        request.setImgPath(values.get("imgPath"));
+        request.setItemNumber(values.get("itemNumber"));
+        request.setManufacturer(values.get("manufacturer"));
+        request.setIsBest(Boolean.parseBoolean(values.get("isBest")));
+        request.setDescription(values.get("description"));
+        request.setMinimumQuantityForDiscount(Integer.parseInt(values.getOrDefault("minimumQuantityForDiscount", "0")));
+
+        return request;
+    }
+
+    private void validate(int row, ItemRequest request, RowHandler handler) {
+        List<String> errors = new ArrayList<>();
+
+        if (!StringUtils.hasText(request.getName())) errors.add("name이 비어 있습니다.");
+        if (!StringUtils.hasText(request.getImgPath())) errors.add("imgPath가 비어 있습니다.");
+        if (!StringUtils.hasText(request.getItemNumber())) errors.add("itemNumber가 비어 있습니다.");
+        if (!StringUtils.hasText(request.getManufacturer())) errors.add("manufacturer가 비어 있습니다.");
+        if (!StringUtils.hasText(request.getDescription())) errors.add("description이 비어 있습니다.");
+        if (request.getPrice() <= 0) errors.add("price는 0보다 커야 합니다.");
+        if (request.getMinimumQuantityForDiscount() < 0) errors.add("minimumQuantityForDiscount는 0 이상이어야 합니다.");
+
+        if (errors.isEmpty()) {
+            if (request.getIsBest() == null) {
+                request.setIsBest(false);
+            }
+            handler.onRow(row, request);
+        } else {
+            handler.onError(row, String.join(" ", errors));
+        }
+    }
+
+    /**
+     * CSV 레코드 하나 읽기. 따옴표로 감싼 값 안의 쉼표, 줄바꿈, 두 번 쓴 따옴표("")를 처리한다.
+     * @return 더 읽을 레코드가 없으면 null
+     */
+    private List<String> readRecord(Reader reader) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean read = false;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            read = true;
+            char ch = (char) c;
+
+            if (quoted) {
+                if (ch == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\n') {
+                break;
+            } else if (ch != '\r') {
+                field.append(ch);
+            }
+        }
+
+        if (!read) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
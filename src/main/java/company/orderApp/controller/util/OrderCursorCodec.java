@@ -0,0 +1,47 @@
+package company.orderApp.controller.util;
+
+import company.orderApp.domain.order.OrderCursor;
+import company.orderApp.service.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 주문 목록 커서를 클라이언트에 넘기는 불투명 토큰으로 변환
+ * 토큰은 "주문일시|주문 id"를 base64url로 인코딩한 값이며 클라이언트는 받은 그대로 돌려주기만 한다.
+ */
+public class OrderCursorCodec {
+
+    private static final String SEPARATOR = "|";
+
+    public static String encode(LocalDateTime orderDate, Long id) {
+        String raw = orderDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서가 없으면 첫 페이지를 뜻하므로 null을 반환한다.
+     */
+    public static OrderCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException("잘못된 페이지 커서입니다.");
+            }
+
+            LocalDateTime orderDate = LocalDateTime.parse(raw.substring(0, separator));
+            Long id = Long.valueOf(raw.substring(separator + 1));
+            return new OrderCursor(orderDate, id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("잘못된 페이지 커서입니다.", e);
+        }
+    }
+}
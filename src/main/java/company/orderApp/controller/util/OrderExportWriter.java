@@ -0,0 +1,108 @@
+package company.orderApp.controller.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import company.orderApp.domain.order.OrderExportRow;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * 주문 내보내기 행을 CSV / NDJSON으로 응답에 바로 쓴다.
+ * FLUSH_ROWS 행마다 flush해 응답이 끝날 때까지 버퍼에 쌓아두지 않는다.
+ */
+public class OrderExportWriter implements Consumer<OrderExportRow> {
+
+    public static final String CSV = "csv";
+    public static final String NDJSON = "ndjson";
+
+    private static final int FLUSH_ROWS = 500;
+
+    private static final String[] CSV_HEADER = {
+            "orderId", "orderDate", "status", "phoneNumber", "request", "receipt",
+            "storeName", "roadAddress", "zoneCode", "detail",
+            "itemId", "itemName", "orderPrice", "count", "discountPrice"
+    };
+
+    private final ObjectMapper objectMapper;
+    private final boolean csv;
+    private final Writer writer;
+    private int rows;
+
+    public OrderExportWriter(ObjectMapper objectMapper, String format, OutputStream out) {
+        this.objectMapper = objectMapper;
+        this.csv = CSV.equals(format);
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    public static boolean supports(String format) {
+        return CSV.equals(format) || NDJSON.equals(format);
+    }
+
+    public static String contentType(String format) {
+        return CSV.equals(format) ? "text/csv; charset=UTF-8" : "application/x-ndjson";
+    }
+
+    /**
+     * CSV는 헤더 행을 먼저 쓴다. 엑셀에서 한글이 깨지지 않도록 BOM을 붙인다.
+     */
+    public void writeHeader() throws IOException {
+        if (csv) {
+            writer.write("\uFEFF");
+            writeCsvLine(CSV_HEADER);
+        }
+    }
+
+    @Override
+    public void accept(OrderExportRow row) {
+        try {
+            if (csv) {
+                writeCsvLine(new Object[]{
+                        row.getOrderId(), row.getOrderDate(), row.getStatus(), row.getPhoneNumber(), row.getRequest(), row.getReceipt(),
+                        row.getStoreName(), row.getRoadAddress(), row.getZoneCode(), row.getDetail(),
+                        row.getItemId(), row.getItemName(), row.getOrderPrice(), row.getCount(), row.getDiscountPrice()
+                });
+            } else {
+                writer.write(objectMapper.writeValueAsString(row));
+                writer.write('\n');
+            }
+
+            if (++rows % FLUSH_ROWS == 0) {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    private void writeCsvLine(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escape(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -7,22 +7,29 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+/**
+ * 회원의 현재 장바구니는 (user_id, is_ordered) 인덱스로 바로 조회한다.
+ */
 @Entity
+@Table(indexes = @Index(name = "idx_cart_user_ordered", columnList = "user_id, is_ordered"))
 @Getter
 @NoArgsConstructor
 public class Cart {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cart_seq_generator")
+    @SequenceGenerator(name = "cart_seq_generator", sequenceName = "cart_seq", allocationSize = 50)
     @Column(name = "cart_id")
     private Long id;
 
 
+    //상품 id -> 장바구니 상품
     @OneToMany(mappedBy = "cart", cascade = CascadeType.ALL)
-    private List<OrderItem> orderItems = new ArrayList<>();
+    @MapKey(name = "itemId")
+    private Map<Long, OrderItem> orderItems = new LinkedHashMap<>();
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
@@ -41,13 +48,13 @@ public class Cart {
     }
 
     //==연관 관계 메서드==//
+    //회원의 장바구니 목록은 읽지 않으므로 채우지 않는다. 주문한 장바구니까지 모두 로딩하게 된다.
     public void setUser(User user) {
-        this.user =user;
-        user.getCarts().add(this);
+        this.user = user;
     }
     //==비즈니스 로직==//
     public void addOrderItem(OrderItem orderItem) {
-        this.orderItems.add(orderItem);
+        this.orderItems.put(orderItem.getItemId(), orderItem);
         orderItem.setCart(this);
     }
 
@@ -57,7 +64,7 @@ public class Cart {
 
     public void removeOrderItem(OrderItem orderItem) {
 
-        this.orderItems.remove(orderItem);
+        this.orderItems.remove(orderItem.getItemId());
         orderItem.setCart(null);
     }
 
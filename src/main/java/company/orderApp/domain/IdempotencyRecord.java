@@ -0,0 +1,56 @@
+package company.orderApp.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 멱등성 키로 처리한 요청의 결과
+ * 여러 인스턴스가 같은 키를 받아도 기본 키 충돌로 한 곳만 요청을 처리한다.
+ * status가 null이면 아직 처리 중인 요청이다.
+ * 만료된 기록은 created_at 인덱스 범위로 찾아 주기적으로 삭제한다. (IdempotencyStore)
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_idempotency_record_created_at", columnList = "created_at"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class IdempotencyRecord {
+
+    // 회원, 경로, 키를 합쳐 SHA-256으로 만든 값
+    @Id
+    @Column(name = "idempotency_key", length = 64)
+    private String id;
+
+    private Integer status;
+
+    @Column(length = 4000)
+    private String body;
+
+    private LocalDateTime createdAt;
+
+    //==생성 메서드==//
+    public static IdempotencyRecord createRecord(String id) {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.id = id;
+        record.createdAt = LocalDateTime.now();
+
+        return record;
+    }
+
+    //==비즈니스 로직==//
+    public void complete(int status, String body) {
+        this.status = status;
+        this.body = body;
+    }
+
+    public boolean isCompleted() {
+        return status != null;
+    }
+}
@@ -0,0 +1,53 @@
+package company.orderApp.domain.item;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 카탈로그 버전을 발급하는 단일 행 카운터.
+ * 상품을 변경하는 트랜잭션은 이 행에 쓰기 락을 잡고 버전을 발급받기 때문에,
+ * 버전 순서와 커밋 순서가 같아져 클라이언트가 변경분을 놓치지 않는다.
+ * 행은 애플리케이션 시작 시 CatalogCounterRepository.insertIfAbsent로 만든다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class CatalogCounter {
+
+    public static final Long ID = 1L;
+
+    @Id
+    @Column(name = "catalog_counter_id")
+    private Long id;
+
+    // 마지막으로 발급된 카탈로그 버전
+    private long version;
+
+    // 노출 중인 베스트 상품 수. 컬럼 추가 이전에 만들어진 행은 null이며 처음 사용할 때 채운다.
+    private Long bestItemCount;
+
+    //==비즈니스 로직==//
+    public long nextVersion() {
+        return ++this.version;
+    }
+
+    public boolean hasBestItemCount() {
+        return this.bestItemCount != null;
+    }
+
+    public void initBestItemCount(long bestItemCount) {
+        this.bestItemCount = bestItemCount;
+    }
+
+    public void increaseBestItemCount() {
+        this.bestItemCount++;
+    }
+
+    public void decreaseBestItemCount() {
+        this.bestItemCount--;
+    }
+}
@@ -2,17 +2,30 @@ package company.orderApp.domain.item;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 
+/**
+ * 주문/장바구니에서 반복 조회되므로 2차 캐시에 보관한다. (CacheConfig)
+ */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(indexes = @Index(name = "idx_item_catalog_version", columnList = "catalog_version"))
 @Getter
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Item {
 
+    /**
+     * 시퀀스 값 하나로 50개의 id를 메모리에서 발급(pooled)해 insert마다 시퀀스를 조회하지 않는다.
+     * 기존 기본 설정과 같은 시퀀스, 같은 증가값을 사용한다.
+     */
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_seq_generator")
+    @SequenceGenerator(name = "item_seq_generator", sequenceName = "item_seq", allocationSize = 50)
     @Column(name = "item_id")
     private Long id;
 
@@ -45,6 +58,12 @@ public class Item {
      */
     private boolean visible;
 
+    /**
+     * 마지막으로 등록/수정/숨기기 된 시점의 카탈로그 버전.
+     * 클라이언트는 자신이 가진 버전 이후의 변경분만 받아 목록을 동기화한다.
+     */
+    private long catalogVersion;
+
     //==생성 메서드==//
     public static Item createItem(String name, int price, String imgPath, String itemNumber, String manufacturer, String description, int saleAmount, boolean isBest) {
         return Item.builder()
@@ -60,8 +79,31 @@ public class Item {
                 .build();
     }
 
+    //==비즈니스 로직==//
     public void hide(){
         this.visible = false;
     }
 
+    /**
+     * 상품 정보 수정
+     */
+    public void changeInfo(String name, int price, String imgPath, String itemNumber, String manufacturer, String description, int saleAmount, boolean isBest) {
+        this.name = name;
+        this.price = price;
+        this.imgPath = imgPath;
+        this.itemNumber = itemNumber;
+        this.manufacturer = manufacturer;
+        this.description = description;
+        this.minimumQuantityForDiscount = saleAmount;
+        this.isBest = isBest;
+    }
+
+    public void changeImgPath(String imgPath) {
+        this.imgPath = imgPath;
+    }
+
+    public void markChanged(long catalogVersion) {
+        this.catalogVersion = catalogVersion;
+    }
+
 }
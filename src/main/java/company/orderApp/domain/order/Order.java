@@ -3,9 +3,9 @@ package company.orderApp.domain.order;
 
 
 import company.orderApp.domain.Address;
-import company.orderApp.domain.Cart;
 import company.orderApp.domain.Delivery;
 import company.orderApp.domain.User;
+import company.orderApp.service.exception.IllegalOrderStatusException;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -14,19 +14,27 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_user_order_date", columnList = "user_id, order_date, order_id"),
+        @Index(name = "idx_orders_order_date", columnList = "order_date, order_id")
+})
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Order {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_seq_generator")
+    @SequenceGenerator(name = "order_seq_generator", sequenceName = "order_seq", allocationSize = 50)
     @Column(name = "order_id")
     private Long id;
 
     private LocalDateTime orderDate;
 
+    // 관리자 일괄 처리와 회원 요청이 동시에 주문을 바꿔도 서로 덮어쓰지 않도록 사용하는 버전
+    @Version
+    private long version;
+
     @Enumerated(EnumType.STRING)
     private OrderStatus status;
 
@@ -51,22 +59,28 @@ public class Order {
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
     private List<OrderItem> orderItems = new ArrayList<>();
 
+    // 주문 시점의 주문 상품 가격으로 한 번만 계산한 합계. 컬럼 추가 이전 주문은 백필 전까지 null이다.
+    private Integer grossPrice; // 할인 전 금액
+    private Integer discountPrice; // 할인 금액
+    private Integer netPrice; // 결제 금액
+
 
     //==생성 메서드==//
-    public static Order createOrderByCart(User user, Delivery delivery, Cart cart, String phoneNumber, Receipt receipt, String request) {
+    /**
+     * 장바구니 주문 생성
+     * 회원의 주문 목록은 채우지 않는다. 채우면 회원과 주문 목록을 읽게 된다.
+     * 주문 상품의 주문 연결은 CheckoutService에서 update 한 번으로 처리하므로 여기서는 합계만 계산한다.
+     */
+    public static Order createOrderByCheckout(User user, Delivery delivery, List<OrderItem> lines, String phoneNumber, Receipt receipt, String request) {
         Order order = new Order();
 
-        order.setUser(user);
+        order.user = user;
         order.setDelivery(delivery);
         order.setPhoneNumber(phoneNumber);
         order.setReceipt(receipt);
         order.setRequest(request);
 
-        List<OrderItem> cartOrderItems = cart.getOrderItems();
-
-        for (OrderItem orderItem : cartOrderItems) {
-            order.addOrderItem(orderItem);
-        }
+        order.calculateTotals(lines);
 
         order.setOrderStatus(OrderStatus.ORDER);
         order.setOrderDate(LocalDateTime.now());
@@ -84,7 +98,7 @@ public class Order {
         order.setRequest(request);
 
         order.addOrderItem(orderItem);
-
+        order.calculateTotals(order.getOrderItems());
 
         order.setOrderStatus(OrderStatus.ORDER);
         order.setOrderDate(LocalDateTime.now());
@@ -120,13 +134,41 @@ public class Order {
      * 주문 취소
      */
     public void cancel() {
-        setOrderStatus(OrderStatus.CANCEL);
+        changeStatus(OrderStatus.CANCEL);
     }
 
     /**
      * 결제 확인
      */
-    public void confirm() {setOrderStatus(OrderStatus.CONFIRM);}
+    public void confirm() {changeStatus(OrderStatus.CONFIRM);}
+
+    private void changeStatus(OrderStatus next) {
+        if (!status.canChangeTo(next)) {
+            throw new IllegalOrderStatusException(status + " 상태의 주문은 " + next + "(으)로 변경할 수 없습니다.");
+        }
+        setOrderStatus(next);
+    }
+
+    /**
+     * 주문 금액 합계 계산
+     * 할인 정책을 다시 적용하지 않고 주문 상품에 저장된 가격과 할인 금액을 그대로 더한다.
+     */
+    public void calculateTotals(List<OrderItem> lines) {
+        int gross = 0;
+        int discount = 0;
+        for (OrderItem line : lines) {
+            gross += line.getTotalPrice();
+            discount += line.getDiscountPrice();
+        }
+
+        this.grossPrice = gross;
+        this.discountPrice = discount;
+        this.netPrice = gross - discount;
+    }
+
+    public boolean hasTotals() {
+        return netPrice != null;
+    }
 
 
 }
@@ -0,0 +1,55 @@
+package company.orderApp.domain.order;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 보관 기간이 지난 주문
+ * OrderArchiveService가 OrderArchiveRepository로 orders, delivery 행을 옮겨 적으며 배송지는 컬럼으로 펼쳐 저장한다.
+ * 옮긴 뒤에는 바뀌지 않으므로 읽기 전용으로 둔다.
+ */
+@Entity
+@Immutable
+@Table(name = "orders_archive", indexes = {
+        @Index(name = "idx_orders_archive_user_order_date", columnList = "user_id, order_date, order_id")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OrderArchive {
+
+    @Id
+    @Column(name = "order_id")
+    private Long id;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    private LocalDateTime orderDate;
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+
+    private String phoneNumber;
+
+    private String request;
+
+    @Enumerated(EnumType.STRING)
+    private Receipt receipt;
+
+    private Integer grossPrice;
+    private Integer discountPrice;
+    private Integer netPrice;
+
+    //배송지
+    private String storeName;
+    private String roadAddress;
+    private int zoneCode;
+    private String detail;
+
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,18 @@
+package company.orderApp.domain.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 목록 키셋 페이지네이션 위치
+ * 목록은 (orderDate desc, id desc) 순서이므로 마지막으로 받은 주문의 두 값보다 작은 주문부터 조회한다.
+ */
+@Getter
+@AllArgsConstructor
+public class OrderCursor {
+
+    private LocalDateTime orderDate;
+    private Long id;
+}
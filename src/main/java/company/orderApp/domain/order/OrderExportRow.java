@@ -0,0 +1,31 @@
+package company.orderApp.domain.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 내보내기 한 행 (주문 상품 1개 = 1행)
+ * 엔티티 대신 필요한 컬럼만 읽으므로 영속성 컨텍스트에 아무것도 쌓이지 않는다.
+ */
+@Getter
+@AllArgsConstructor
+public class OrderExportRow {
+
+    private Long orderId;
+    private LocalDateTime orderDate;
+    private OrderStatus status;
+    private String phoneNumber;
+    private String request;
+    private Receipt receipt;
+    private String storeName;
+    private String roadAddress;
+    private int zoneCode;
+    private String detail;
+    private Long itemId;
+    private String itemName;
+    private int orderPrice;
+    private int count;
+    private int discountPrice;
+}
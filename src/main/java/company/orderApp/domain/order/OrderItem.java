@@ -7,7 +7,12 @@ import company.orderApp.domain.item.Item;
 import jakarta.persistence.*;
 import lombok.*;
 
+/**
+ * 장바구니 한 개에는 상품별로 한 줄만 존재한다. (cart_id, item_id)
+ * 주문으로 바로 구매한 상품은 cart_id가 null이므로 제약에 걸리지 않는다.
+ */
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_order_item_cart_item", columnNames = {"cart_id", "item_id"}))
 @Getter
 @Setter
 @Builder
@@ -16,14 +21,21 @@ import lombok.*;
 public class OrderItem {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq_generator")
+    @SequenceGenerator(name = "order_item_seq_generator", sequenceName = "order_item_seq", allocationSize = 50)
     @Column(name = "order_item_id")
     private Long id;
 
+    public static final int MAX_COUNT = 10;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id")
     private Item item;
 
+    // 장바구니 상품 목록의 키로 사용하는 읽기 전용 컬럼. 값은 item 연관 관계로 저장된다.
+    @Column(name = "item_id", insertable = false, updatable = false)
+    private Long itemId;
+
     @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cart_id")
@@ -43,6 +55,7 @@ public class OrderItem {
         OrderItem orderItem = new OrderItem();
         orderItem.setCount(count);
         orderItem.setItem(item);
+        orderItem.setItemId(item.getId());
         orderItem.setOrderPrice(orderPrice);
         orderItem.setDiscountPrice(discountPrice);
 
@@ -51,7 +64,7 @@ public class OrderItem {
     }
 
     public void setCount(int count) {
-        if(count > 10) this.count = 10;
+        if(count > MAX_COUNT) this.count = MAX_COUNT;
         else {
             this.count = count;
         }
@@ -0,0 +1,34 @@
+package company.orderApp.domain.order;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * 보관 기간이 지난 주문의 주문 상품
+ */
+@Entity
+@Immutable
+@Table(name = "order_item_archive", indexes = {
+        @Index(name = "idx_order_item_archive_order", columnList = "order_id")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OrderItemArchive {
+
+    @Id
+    @Column(name = "order_item_id")
+    private Long id;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "item_id")
+    private Long itemId;
+
+    private int orderPrice;
+    private int count;
+    private int discountPrice;
+}
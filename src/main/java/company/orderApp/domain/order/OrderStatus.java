@@ -1,6 +1,30 @@
 package company.orderApp.domain.order;
 
+import java.util.Arrays;
+import java.util.List;
+
 public enum OrderStatus {
 
-    ORDER, CANCEL, CONFIRM // 주문, 주문취소, 결제확인
+    ORDER, CANCEL, CONFIRM; // 주문, 주문취소, 결제확인
+
+    /**
+     * 상태 전이 규칙
+     * 주문 -> 결제확인 / 주문취소, 결제확인 -> 주문취소만 가능하고 취소된 주문은 바꿀 수 없다.
+     */
+    public boolean canChangeTo(OrderStatus next) {
+        return switch (this) {
+            case ORDER -> next == CONFIRM || next == CANCEL;
+            case CONFIRM -> next == CANCEL;
+            case CANCEL -> false;
+        };
+    }
+
+    /**
+     * next로 바꿀 수 있는 상태 목록
+     */
+    public static List<OrderStatus> changeableTo(OrderStatus next) {
+        return Arrays.stream(values())
+                .filter(status -> status.canChangeTo(next))
+                .toList();
+    }
 }
@@ -0,0 +1,30 @@
+package company.orderApp.domain.sales;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 일별 상품 매출 집계 (취소된 주문 제외)
+ */
+@Entity
+@Getter
+@IdClass(DailyItemSalesId.class)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class DailyItemSales {
+
+    @Id
+    private LocalDate salesDate;
+
+    @Id
+    private Long itemId;
+
+    private long orderCount;
+    private long quantity;
+    private long netAmount;
+}
@@ -0,0 +1,31 @@
+package company.orderApp.domain.sales;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 일별 매출 집계
+ * 주문 생성/취소/결제 확인 시 SalesRollupRepository가 주문일 기준으로 증감한다.
+ * 취소된 주문은 주문 수, 수량, 금액에서 빠지고 cancelledCount로만 남는다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class DailySales {
+
+    @Id
+    private LocalDate salesDate;
+
+    private long orderCount;
+    private long quantity;
+    private long grossAmount;
+    private long discountAmount;
+    private long netAmount;
+    private long confirmedCount;
+    private long cancelledCount;
+}
@@ -0,0 +1,31 @@
+package company.orderApp.domain.sales;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 일별 가게 매출 집계 (취소된 주문 제외)
+ * 가게는 배송지의 가게 명(Address.storeName)으로 구분한다.
+ */
+@Entity
+@Getter
+@IdClass(DailyStoreSalesId.class)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class DailyStoreSales {
+
+    @Id
+    private LocalDate salesDate;
+
+    @Id
+    private String storeName;
+
+    private long orderCount;
+    private long quantity;
+    private long netAmount;
+}
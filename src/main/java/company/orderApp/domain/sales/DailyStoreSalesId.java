@@ -0,0 +1,17 @@
+package company.orderApp.domain.sales;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyStoreSalesId implements Serializable {
+
+    private LocalDate salesDate;
+    private String storeName;
+}
@@ -0,0 +1,30 @@
+package company.orderApp.domain.sales;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 아직 매출 집계에 반영하지 않은 주문 변경분
+ * 주문 트랜잭션은 이 테이블에 insert만 하고, SalesRollupService가 모아서 집계 테이블에 반영한 뒤 지운다.
+ * 주문마다 같은 집계 행을 갱신하지 않으므로 주문들이 집계 행 잠금을 기다리지 않는다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class SalesRollupEvent {
+
+    // 네이티브 insert로 여러 주문을 한 번에 기록하므로 id는 DB가 발급한다.
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long orderId;
+    private int sign;      // 주문 수, 수량, 금액에 곱할 값 (생성 +1, 취소 -1, 결제 확인 0)
+    private int confirmed; // 결제 확인 수 증감
+    private int cancelled; // 취소 수 증감
+}
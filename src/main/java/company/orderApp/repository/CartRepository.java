@@ -1,11 +1,19 @@
 package company.orderApp.repository;
 
 import company.orderApp.domain.Cart;
+import company.orderApp.domain.order.Order;
+import company.orderApp.domain.order.OrderItem;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.query.NativeQuery;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 
@@ -15,6 +23,11 @@ public class CartRepository {
 
     private final EntityManager em;
 
+    private static final String UPSERT_LINE = "insert into order_item" +
+            " (order_item_id, cart_id, item_id, order_price, count, discount_price)" +
+            " values (:id, :cartId, :itemId, :orderPrice, least(:count, :maxCount), :discountPrice)" +
+            " on duplicate key update count = least(count + values(count), :maxCount)";
+
     public void save(Cart cart) {
         em.persist(cart);
     }
@@ -32,4 +45,199 @@ public class CartRepository {
 
         return Optional.ofNullable(cart);
     }
+
+    /**
+     * 회원의 주문하지 않은 장바구니 조회
+     */
+    public Optional<Cart> findActiveByUserId(Long userId) {
+        return em.createQuery("select c from Cart c" +
+                        " where c.user.id = :userId and c.isOrdered = false", Cart.class)
+                .setParameter("userId", userId)
+                .getResultStream()
+                .findFirst();
+    }
+
+    /**
+     * 회원의 주문하지 않은 장바구니를 상품과 함께 한 번에 조회
+     */
+    public Optional<Cart> findActiveWithLines(Long userId) {
+        return em.createQuery("select c from Cart c" +
+                        " left join fetch c.orderItems oi" +
+                        " left join fetch oi.item" +
+                        " where c.user.id = :userId and c.isOrdered = false", Cart.class)
+                .setParameter("userId", userId)
+                .getResultList()
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * 장바구니 행에 공유 잠금을 잡고 주문하지 않은 장바구니인지 확인한다.
+     * 장바구니 상품을 바꾸기 전에 호출하면, 같은 장바구니의 주문 처리(markActiveOrdered, markOrdered)는
+     * 이 트랜잭션이 끝날 때까지 기다린다. 이미 주문한 장바구니면 상품을 바꾸면 안 된다.
+     * @return 주문하지 않은 장바구니면 true
+     */
+    public boolean lockEditable(Long cartId) {
+        Number count = (Number) em.createNativeQuery("select count(*) from cart" +
+                        " where cart_id = :cartId and is_ordered = false" +
+                        " lock in share mode")
+                .setParameter("cartId", cartId)
+                .getSingleResult();
+        return count.intValue() == 1;
+    }
+
+    /**
+     * 회원의 주문하지 않은 장바구니를 주문 처리 상태로 바꾼다.
+     * 동시에 같은 장바구니로 주문하면 먼저 update한 트랜잭션이 행 잠금을 잡고, 나머지는 그 커밋 뒤 0건을 반환한다.
+     * 장바구니를 수정 중인 트랜잭션(lockEditable)이 있으면 그 커밋을 기다린다.
+     * @return 변경된 행 수 (0이면 이미 주문했거나 장바구니가 없다)
+     */
+    public int markActiveOrdered(Long userId) {
+        return em.createQuery("update Cart c set c.isOrdered = true" +
+                        " where c.user.id = :userId and c.isOrdered = false")
+                .setParameter("userId", userId)
+                .executeUpdate();
+    }
+
+    /**
+     * 회원의 장바구니 한 개를 주문 처리 상태로 바꾼다. (주문 접수 큐)
+     * @return 변경된 행 수 (0이면 이미 주문했거나 회원의 장바구니가 아니다)
+     */
+    public int markOrdered(Long userId, Long cartId) {
+        return em.createQuery("update Cart c set c.isOrdered = true" +
+                        " where c.id = :cartId and c.user.id = :userId and c.isOrdered = false")
+                .setParameter("cartId", cartId)
+                .setParameter("userId", userId)
+                .executeUpdate();
+    }
+
+    /**
+     * 방금 주문 처리한 회원 장바구니의 상품을 쓰기 잠금으로 조회 (markActiveOrdered 다음에 호출)
+     * 주문한 장바구니의 상품은 모두 주문에 연결되어 있으므로, 주문이 없는 상품은 이번에 주문할 상품이다.
+     * 상품(Item)은 조인하지 않는다. 조인하면 상품 행까지 잠근다.
+     */
+    public List<OrderItem> findOrderedLinesForUpdate(Long userId) {
+        return em.createQuery("select oi from OrderItem oi" +
+                        " where oi.cart.user.id = :userId and oi.cart.isOrdered = true and oi.order is null", OrderItem.class)
+                .setParameter("userId", userId)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+    }
+
+    /**
+     * 장바구니의 주문하지 않은 상품을 쓰기 잠금으로 조회 (markOrdered 다음에 호출)
+     */
+    public List<OrderItem> findLinesForUpdate(Long cartId) {
+        return em.createQuery("select oi from OrderItem oi" +
+                        " where oi.cart.id = :cartId and oi.order is null", OrderItem.class)
+                .setParameter("cartId", cartId)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+    }
+
+    /**
+     * 주문 상품들을 주문으로 옮긴다. 상품 수와 관계없이 update 한 번으로 처리한다.
+     * 영속성 컨텍스트의 주문 상품은 갱신되지 않는다.
+     * @return 변경된 행 수
+     */
+    public int moveLinesToOrder(List<Long> lineIds, Order order) {
+        if (lineIds.isEmpty()) {
+            return 0;
+        }
+
+        //주문 insert가 먼저 실행되어야 외래 키를 참조할 수 있다.
+        em.flush();
+
+        return em.createQuery("update OrderItem oi set oi.order = :order" +
+                        " where oi.id in :lineIds")
+                .setParameter("order", order)
+                .setParameter("lineIds", lineIds)
+                .executeUpdate();
+    }
+
+    /**
+     * 장바구니 상품 전체 조회
+     */
+    public List<OrderItem> findLines(Long cartId) {
+        return em.createQuery("select oi from OrderItem oi" +
+                        " where oi.cart.id = :cartId", OrderItem.class)
+                .setParameter("cartId", cartId)
+                .getResultList();
+    }
+
+    /**
+     * 장바구니 상품 한 줄 조회 (cart_id, item_id 유니크 인덱스)
+     */
+    public Optional<OrderItem> findLine(Long cartId, Long itemId) {
+        return em.createQuery("select oi from OrderItem oi" +
+                        " where oi.cart.id = :cartId and oi.itemId = :itemId", OrderItem.class)
+                .setParameter("cartId", cartId)
+                .setParameter("itemId", itemId)
+                .getResultStream()
+                .findFirst();
+    }
+
+    /**
+     * 장바구니 상품 담기 (insert ... on duplicate key update)
+     * (cart_id, item_id) 유니크 인덱스에 걸리면 수량만 더하므로, 같은 상품을 동시에 처음 담아도 한 줄만 남는다.
+     * 네이티브 insert라 id는 Hibernate의 order_item 시퀀스 생성기에서 받는다. 시퀀스를 직접 읽으면 pooled 할당 범위와 겹친다.
+     */
+    public void upsertLine(Long cartId, OrderItem orderItem, int maxCount) {
+        //새로 만든 장바구니가 먼저 insert되어야 외래 키를 참조할 수 있다.
+        em.flush();
+
+        SharedSessionContractImplementor session = em.unwrap(SharedSessionContractImplementor.class);
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator) session.getFactory()
+                .getMappingMetamodel()
+                .getEntityDescriptor(OrderItem.class)
+                .getGenerator();
+        Object id = generator.generate(session, null, null, EventType.INSERT);
+
+        em.createNativeQuery(UPSERT_LINE)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(OrderItem.class)
+                .setParameter("id", id)
+                .setParameter("cartId", cartId)
+                .setParameter("itemId", orderItem.getItem().getId())
+                .setParameter("orderPrice", orderItem.getOrderPrice())
+                .setParameter("count", orderItem.getCount())
+                .setParameter("discountPrice", orderItem.getDiscountPrice())
+                .setParameter("maxCount", maxCount)
+                .executeUpdate();
+    }
+
+    public void saveLine(OrderItem orderItem) {
+        em.persist(orderItem);
+    }
+
+    public void removeLine(OrderItem orderItem) {
+        em.remove(orderItem);
+    }
+
+    /**
+     * 장바구니 상품 수량 변경
+     * @return 변경된 행 수
+     */
+    public int updateLine(Long cartId, Long itemId, int count, int discountPrice) {
+        return em.createQuery("update OrderItem oi" +
+                        " set oi.count = :count, oi.discountPrice = :discountPrice" +
+                        " where oi.cart.id = :cartId and oi.itemId = :itemId")
+                .setParameter("count", count)
+                .setParameter("discountPrice", discountPrice)
+                .setParameter("cartId", cartId)
+                .setParameter("itemId", itemId)
+                .executeUpdate();
+    }
+
+    /**
+     * 장바구니 상품 삭제
+     * @return 삭제된 행 수
+     */
+    public int deleteLine(Long cartId, Long itemId) {
+        return em.createQuery("delete from OrderItem oi" +
+                        " where oi.cart.id = :cartId and oi.itemId = :itemId")
+                .setParameter("cartId", cartId)
+                .setParameter("itemId", itemId)
+                .executeUpdate();
+    }
 }
@@ -0,0 +1,28 @@
+package company.orderApp.repository;
+
+import company.orderApp.domain.item.CatalogCounter;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface CatalogCounterRepository extends JpaRepository<CatalogCounter, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from CatalogCounter c where c.id = :id")
+    Optional<CatalogCounter> findForUpdate(@Param("id") Long id);
+
+    /**
+     * 카운터 행이 없을 때만 만든다. 애플리케이션 시작 시 한 번 실행한다.
+     * 락을 잡는 경로에서 행을 만들면 동시에 들어온 관리자 요청이 함께 insert 하게 되므로 미리 만들어 둔다.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "insert ignore into catalog_counter (catalog_counter_id, version) values (:id, 0)", nativeQuery = true)
+    int insertIfAbsent(@Param("id") Long id);
+}
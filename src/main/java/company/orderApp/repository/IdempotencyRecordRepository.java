@@ -0,0 +1,56 @@
+package company.orderApp.repository;
+
+import company.orderApp.domain.IdempotencyRecord;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyRecordRepository {
+
+    private final EntityManager em;
+
+    private static final String DELETE_EXPIRED = "delete from idempotency_record" +
+            " where (status is null and created_at < :lockedBefore) or" +
+            " (status is not null and created_at < :completedBefore)" +
+            " limit :limit";
+
+    public Optional<IdempotencyRecord> findById(String id) {
+        return Optional.ofNullable(em.find(IdempotencyRecord.class, id));
+    }
+
+    /**
+     * 바로 insert해 같은 키가 이미 있으면 DataIntegrityViolationException이 발생한다.
+     */
+    public void insert(IdempotencyRecord record) {
+        em.persist(record);
+        em.flush();
+    }
+
+    public void delete(String id) {
+        em.createQuery("delete from IdempotencyRecord r where r.id = :id")
+                .setParameter("id", id)
+                .executeUpdate();
+    }
+
+    /**
+     * 만료된 기록을 최대 limit개 삭제
+     * 완료된 기록은 completedBefore, 처리 중인 기록은 lockedBefore 이전에 만들어졌으면 만료된 것이다.
+     * 한 번에 지우는 행 수를 제한해 삭제 트랜잭션이 잠그는 범위를 작게 유지한다.
+     * @return 삭제한 기록 수
+     */
+    public int deleteExpired(LocalDateTime completedBefore, LocalDateTime lockedBefore, int limit) {
+        return em.createNativeQuery(DELETE_EXPIRED)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(IdempotencyRecord.class)
+                .setParameter("completedBefore", completedBefore)
+                .setParameter("lockedBefore", lockedBefore)
+                .setParameter("limit", limit)
+                .executeUpdate();
+    }
+}
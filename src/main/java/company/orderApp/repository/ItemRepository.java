@@ -8,4 +8,8 @@ import java.util.List;
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
     List<Item> findAllByVisibleTrue();
+
+    List<Item> findAllByCatalogVersionGreaterThanOrderByCatalogVersionAsc(long catalogVersion);
+
+    long countByIsBestTrueAndVisibleTrue();
 }
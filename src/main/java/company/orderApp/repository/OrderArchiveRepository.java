@@ -0,0 +1,116 @@
+package company.orderApp.repository;
+
+import company.orderApp.domain.order.OrderArchive;
+import company.orderApp.domain.order.OrderCursor;
+import company.orderApp.domain.order.OrderItemArchive;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 주문 보관 테이블로 옮기기 / 보관 주문 조회
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderArchiveRepository {
+
+    private final EntityManager em;
+
+    private static final String COPY_ORDERS = "insert into orders_archive" +
+            " (order_id, user_id, order_date, status, phone_number, request, receipt," +
+            " gross_price, discount_price, net_price, store_name, road_address, zone_code, detail, archived_at)" +
+            " select o.order_id, o.user_id, o.order_date, o.status, o.phone_number, o.request, o.receipt," +
+            " o.gross_price, o.discount_price, o.net_price, d.store_name, d.road_address, coalesce(d.zone_code, 0), d.detail, :archivedAt" +
+            " from orders o left join delivery d on d.delivery_id = o.delivery_id" +
+            " where o.order_id in (:orderIds)";
+
+    private static final String COPY_ORDER_ITEMS = "insert into order_item_archive" +
+            " (order_item_id, order_id, item_id, order_price, count, discount_price)" +
+            " select oi.order_item_id, oi.order_id, oi.item_id, oi.order_price, oi.count, oi.discount_price" +
+            " from order_item oi" +
+            " where oi.order_id in (:orderIds)";
+
+
+    /**
+     * cutoff 이전 주문의 [주문 id, 배송 id]를 id 순으로 조회
+     */
+    public List<Object[]> findArchivable(LocalDateTime cutoff, int limit) {
+        return em.createQuery("select o.id, o.delivery.id from Order o" +
+                        " where o.orderDate < :cutoff" +
+                        " order by o.id", Object[].class)
+                .setParameter("cutoff", cutoff)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * 주문, 주문 상품, 배송지를 보관 테이블로 옮긴다.
+     * 복사와 삭제는 모두 주문 id 목록 기준 set 연산이며 호출한 트랜잭션 안에서 함께 커밋된다.
+     */
+    public void move(List<Long> orderIds, List<Long> deliveryIds, LocalDateTime archivedAt) {
+        em.createNativeQuery(COPY_ORDERS)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(OrderArchive.class)
+                .setParameter("orderIds", orderIds)
+                .setParameter("archivedAt", archivedAt)
+                .executeUpdate();
+        em.createNativeQuery(COPY_ORDER_ITEMS)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(OrderItemArchive.class)
+                .setParameter("orderIds", orderIds)
+                .executeUpdate();
+
+        em.createQuery("delete from OrderItem oi where oi.order.id in :orderIds")
+                .setParameter("orderIds", orderIds)
+                .executeUpdate();
+        em.createQuery("delete from Order o where o.id in :orderIds")
+                .setParameter("orderIds", orderIds)
+                .executeUpdate();
+        if (!deliveryIds.isEmpty()) {
+            em.createQuery("delete from Delivery d where d.id in :deliveryIds")
+                    .setParameter("deliveryIds", deliveryIds)
+                    .executeUpdate();
+        }
+    }
+
+    /**
+     * 회원의 보관 주문 조회 (키셋 페이지네이션)
+     * after가 null이면 첫 페이지를 조회한다.
+     */
+    public List<OrderArchive> findAllByUser(Long userId, OrderCursor after, int limit) {
+        TypedQuery<OrderArchive> query = em.createQuery("select o from OrderArchive o" +
+                        " where o.userId = :userId" +
+                        (after != null ? " and (o.orderDate < :cursorDate or (o.orderDate = :cursorDate and o.id < :cursorId))" : "") +
+                        " order by o.orderDate desc, o.id desc", OrderArchive.class)
+                .setParameter("userId", userId);
+
+        if (after != null) {
+            query.setParameter("cursorDate", after.getOrderDate())
+                    .setParameter("cursorId", after.getId());
+        }
+
+        return query.setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * 여러 보관 주문의 주문 상품을 [주문 상품, 상품]으로 조회
+     */
+    public List<Object[]> findOrderItemsWithItem(List<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+
+        return em.createQuery("select oi, i from OrderItemArchive oi" +
+                        " left join Item i on i.id = oi.itemId" +
+                        " where oi.orderId in :orderIds" +
+                        " order by oi.id", Object[].class)
+                .setParameter("orderIds", orderIds)
+                .getResultList();
+    }
+}
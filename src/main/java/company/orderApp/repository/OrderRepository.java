@@ -1,10 +1,16 @@
 package company.orderApp.repository;
 
 import company.orderApp.domain.order.Order;
+import company.orderApp.domain.order.OrderCursor;
+import company.orderApp.domain.order.OrderExportRow;
+import company.orderApp.domain.order.OrderItem;
 import company.orderApp.domain.order.OrderSearch;
 import company.orderApp.domain.order.OrderStatus;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,12 +20,20 @@ import java.time.LocalDateTime;
 import java.time.Month;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 
 @Repository
 @RequiredArgsConstructor
 public class OrderRepository {
 
+    // 회원 주문 내역에서 보여주는 기간(개월). 보관 작업은 이보다 오래된 주문만 옮긴다.
+    public static final int RECENT_MONTHS = 3;
+
+    // (orderDate desc, id desc) 정렬에서 커서 다음 위치
+    private static final String AFTER_CURSOR = " and (o.orderDate < :cursorDate" +
+            " or (o.orderDate = :cursorDate and o.id < :cursorId))";
+
     private final EntityManager em;
     public Optional<Order> findById(Long id) {
         return Optional.ofNullable(em.find(Order.class, id));
@@ -32,13 +46,13 @@ public class OrderRepository {
      * 최근 3개월 내의 회원 주문 내역 조회
      */
     public List<Order> findRecentAllByUser(Long userId, int offset, int limit) {
-        LocalDateTime threeMonthsAgo = LocalDateTime.now().minusMonths(3);
+        LocalDateTime threeMonthsAgo = LocalDateTime.now().minusMonths(RECENT_MONTHS);
 
         return em.createQuery("select o from Order o" +
                 " join fetch o.delivery d" +
                 " where o.user.id = :userId and" +
                 " o.orderDate >= :threeMonthsAgo" +
-                " order by o.orderDate desc", Order.class)
+                " order by o.orderDate desc, o.id desc", Order.class)
                 .setParameter("userId", userId)
                 .setParameter("threeMonthsAgo", threeMonthsAgo)
                 .setFirstResult(offset)
@@ -46,6 +60,28 @@ public class OrderRepository {
                 .getResultList();
     }
 
+    /**
+     * 최근 3개월 내의 회원 주문 내역 조회 (키셋 페이지네이션)
+     * (user_id, order_date, order_id) 인덱스를 커서 위치부터 읽으므로 뒤 페이지도 첫 페이지와 비용이 같다.
+     * after가 null이면 첫 페이지를 조회한다.
+     */
+    public List<Order> findRecentAllByUser(Long userId, OrderCursor after, int limit) {
+        LocalDateTime threeMonthsAgo = LocalDateTime.now().minusMonths(RECENT_MONTHS);
+
+        TypedQuery<Order> query = em.createQuery("select o from Order o" +
+                        " join fetch o.delivery d" +
+                        " where o.user.id = :userId and" +
+                        " o.orderDate >= :threeMonthsAgo" +
+                        (after != null ? AFTER_CURSOR : "") +
+                        " order by o.orderDate desc, o.id desc", Order.class)
+                .setParameter("userId", userId)
+                .setParameter("threeMonthsAgo", threeMonthsAgo);
+
+        return setCursor(query, after)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
     /**
      * 회원들의 당일 주문 내역 조회
      */
@@ -58,7 +94,7 @@ public class OrderRepository {
         return em.createQuery("select o from Order o" +
                         " join fetch o.delivery d" +
                         " where o.orderDate BETWEEN :startOfDay AND :endOfDay" +
-                        " order by o.orderDate desc", Order.class)
+                        " order by o.orderDate desc, o.id desc", Order.class)
                 .setParameter("startOfDay", startOfDay)
                 .setParameter("endOfDay", endOfDay)
                 .setFirstResult(offset)
@@ -66,7 +102,124 @@ public class OrderRepository {
                 .getResultList();
     }
 
+    /**
+     * 회원들의 당일 주문 내역 조회 (키셋 페이지네이션)
+     * after가 null이면 첫 페이지를 조회한다.
+     */
+    public List<Order> findAllByDate(LocalDateTime date, OrderCursor after, int limit) {
+
+        LocalDateTime startOfDay = date.withHour(0).withMinute(0).withSecond(0);
+        LocalDateTime endOfDay = date.withHour(23).withMinute(59).withSecond(59);
+
+        TypedQuery<Order> query = em.createQuery("select o from Order o" +
+                        " join fetch o.delivery d" +
+                        " where o.orderDate BETWEEN :startOfDay AND :endOfDay" +
+                        (after != null ? AFTER_CURSOR : "") +
+                        " order by o.orderDate desc, o.id desc", Order.class)
+                .setParameter("startOfDay", startOfDay)
+                .setParameter("endOfDay", endOfDay);
+
+        return setCursor(query, after)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * 여러 주문의 주문 상품을 상품과 함께 한 번에 조회
+     * 주문마다 orderItems, item을 지연 로딩하지 않도록 주문 목록 조회 후 사용한다.
+     */
+    public List<OrderItem> findOrderItemsWithItem(List<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+
+        return em.createQuery("select oi from OrderItem oi" +
+                        " join fetch oi.item i" +
+                        " where oi.order.id in :orderIds" +
+                        " order by oi.id", OrderItem.class)
+                .setParameter("orderIds", orderIds)
+                .getResultList();
+    }
+
+    /**
+     * 기간 내 주문 내보내기용 행 조회
+     * 결과를 한 번에 메모리에 올리지 않고 fetch size 단위로 DB에서 받아오는 Stream을 반환한다.
+     * 트랜잭션 안에서 사용하고 다 읽은 뒤 반드시 닫아야 한다.
+     */
+    public Stream<OrderExportRow> streamExportRows(LocalDateTime from, LocalDateTime to, int fetchSize) {
+        return em.createQuery("select new company.orderApp.domain.order.OrderExportRow(" +
+                        " o.id, o.orderDate, o.status, o.phoneNumber, o.request, o.receipt," +
+                        " d.address.storeName, d.address.roadAddress, d.address.zoneCode, d.address.detail," +
+                        " i.id, i.name, oi.orderPrice, oi.count, oi.discountPrice)" +
+                        " from OrderItem oi" +
+                        " join oi.order o" +
+                        " join o.delivery d" +
+                        " join oi.item i" +
+                        " where o.orderDate >= :from and o.orderDate < :to" +
+                        " order by o.orderDate, o.id, oi.id", OrderExportRow.class)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    /**
+     * 금액 합계가 없는 주문을 id 순으로 조회 (합계 백필용)
+     */
+    public List<Order> findWithoutTotals(Long afterId, int limit) {
+        return em.createQuery("select o from Order o" +
+                        " where o.netPrice is null and o.id > :afterId" +
+                        " order by o.id", Order.class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * 여러 주문의 주문 상품 조회. 가격만 필요하므로 상품은 함께 읽지 않는다.
+     */
+    public List<OrderItem> findOrderItems(List<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+
+        return em.createQuery("select oi from OrderItem oi" +
+                        " where oi.order.id in :orderIds", OrderItem.class)
+                .setParameter("orderIds", orderIds)
+                .getResultList();
+    }
 
+    /**
+     * 여러 주문을 쓰기 락을 잡고 조회 (일괄 상태 변경용)
+     */
+    public List<Order> findAllForUpdate(List<Long> orderIds) {
+        return em.createQuery("select o from Order o where o.id in :orderIds", Order.class)
+                .setParameter("orderIds", orderIds)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+    }
 
+    /**
+     * from 상태인 주문들을 한 번에 to 상태로 변경
+     * 버전도 함께 올려 이 주문을 먼저 읽어 둔 다른 트랜잭션은 낙관적 락 충돌로 실패하게 한다.
+     */
+    public int updateStatus(List<Long> orderIds, OrderStatus from, OrderStatus to) {
+        return em.createQuery("update Order o" +
+                        " set o.status = :to, o.version = o.version + 1" +
+                        " where o.id in :orderIds and o.status = :from")
+                .setParameter("to", to)
+                .setParameter("from", from)
+                .setParameter("orderIds", orderIds)
+                .executeUpdate();
+    }
 
+    private TypedQuery<Order> setCursor(TypedQuery<Order> query, OrderCursor after) {
+        if (after == null) {
+            return query;
+        }
+        return query
+                .setParameter("cursorDate", after.getOrderDate())
+                .setParameter("cursorId", after.getId());
+    }
 }
@@ -0,0 +1,235 @@
+package company.orderApp.repository;
+
+import company.orderApp.domain.sales.DailyItemSales;
+import company.orderApp.domain.sales.DailySales;
+import company.orderApp.domain.sales.DailyStoreSales;
+import company.orderApp.domain.sales.SalesRollupEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 매출 집계 테이블 갱신/조회
+ * 집계 갱신은 MariaDB의 insert ... select ... on duplicate key update로 반영할 주문들에 대해 테이블마다 한 문장만 실행한다.
+ * 주문 상품 수와 관계없이 DB 안에서 합계를 내므로 엔티티를 읽어 올 필요가 없다.
+ * 주문 트랜잭션은 변경분(SalesRollupEvent)만 insert하고, 집계 갱신은 변경분을 모아 따로 실행한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SalesRollupRepository {
+
+    private final EntityManager em;
+
+    // 주문들의 금액을 sign(+1 / -1 / 0)만큼 일별 집계에 더한다.
+    private static final String APPLY_DAILY = "insert into daily_sales" +
+            " (sales_date, order_count, quantity, gross_amount, discount_amount, net_amount, confirmed_count, cancelled_count)" +
+            " select date(o.order_date), :sign * count(distinct o.order_id), :sign * sum(oi.count), :sign * sum(oi.order_price * oi.count)," +
+            " :sign * sum(oi.discount_price), :sign * sum(oi.order_price * oi.count - oi.discount_price)," +
+            " :confirmed * count(distinct o.order_id), :cancelled * count(distinct o.order_id)" +
+            " from orders o join order_item oi on oi.order_id = o.order_id" +
+            " where o.order_id in (:orderIds)" +
+            " group by date(o.order_date)" +
+            " on duplicate key update" +
+            " order_count = order_count + values(order_count)," +
+            " quantity = quantity + values(quantity)," +
+            " gross_amount = gross_amount + values(gross_amount)," +
+            " discount_amount = discount_amount + values(discount_amount)," +
+            " net_amount = net_amount + values(net_amount)," +
+            " confirmed_count = confirmed_count + values(confirmed_count)," +
+            " cancelled_count = cancelled_count + values(cancelled_count)";
+
+    private static final String ON_DUPLICATE_LINE_TOTALS = " on duplicate key update" +
+            " order_count = order_count + values(order_count)," +
+            " quantity = quantity + values(quantity)," +
+            " net_amount = net_amount + values(net_amount)";
+
+    private static final String APPLY_ITEM = "insert into daily_item_sales" +
+            " (sales_date, item_id, order_count, quantity, net_amount)" +
+            " select date(o.order_date), oi.item_id, :sign * count(distinct o.order_id), :sign * sum(oi.count), :sign * sum(oi.order_price * oi.count - oi.discount_price)" +
+            " from orders o join order_item oi on oi.order_id = o.order_id" +
+            " where o.order_id in (:orderIds)" +
+            " group by date(o.order_date), oi.item_id" +
+            ON_DUPLICATE_LINE_TOTALS;
+
+    private static final String APPLY_STORE = "insert into daily_store_sales" +
+            " (sales_date, store_name, order_count, quantity, net_amount)" +
+            " select date(o.order_date), coalesce(d.store_name, ''), :sign * count(distinct o.order_id), :sign * sum(oi.count), :sign * sum(oi.order_price * oi.count - oi.discount_price)" +
+            " from orders o join delivery d on d.delivery_id = o.delivery_id" +
+            " join order_item oi on oi.order_id = o.order_id" +
+            " where o.order_id in (:orderIds)" +
+            " group by date(o.order_date), coalesce(d.store_name, '')" +
+            ON_DUPLICATE_LINE_TOTALS;
+
+    private static final String RECORD_EVENTS = "insert into sales_rollup_event (order_id, sign, confirmed, cancelled)" +
+            " select o.order_id, :sign, :confirmed, :cancelled" +
+            " from orders o" +
+            " where o.order_id in (:orderIds)";
+
+    // 하루치 집계를 주문 테이블에서 다시 계산한다. 주문별 합계를 먼저 낸 뒤 날짜로 묶어 주문 수가 중복되지 않게 한다.
+    private static final String REBUILD_DAILY = "insert into daily_sales" +
+            " (sales_date, order_count, quantity, gross_amount, discount_amount, net_amount, confirmed_count, cancelled_count)" +
+            " select date(t.order_date), sum(t.live), sum(t.live * t.quantity), sum(t.live * t.gross)," +
+            " sum(t.live * t.discount), sum(t.live * (t.gross - t.discount)), sum(t.confirmed), sum(1 - t.live)" +
+            " from (select o.order_date," +
+            " case when o.status = 'CANCEL' then 0 else 1 end as live," +
+            " case when o.status = 'CONFIRM' then 1 else 0 end as confirmed," +
+            " sum(oi.count) as quantity, sum(oi.order_price * oi.count) as gross, sum(oi.discount_price) as discount" +
+            " from orders o join order_item oi on oi.order_id = o.order_id" +
+            " where o.order_date >= :from and o.order_date < :to" +
+            " group by o.order_id, o.order_date, o.status) t" +
+            " group by date(t.order_date)";
+
+    private static final String REBUILD_ITEM = "insert into daily_item_sales" +
+            " (sales_date, item_id, order_count, quantity, net_amount)" +
+            " select date(o.order_date), oi.item_id, count(distinct o.order_id), sum(oi.count), sum(oi.order_price * oi.count - oi.discount_price)" +
+            " from orders o join order_item oi on oi.order_id = o.order_id" +
+            " where o.order_date >= :from and o.order_date < :to and o.status <> 'CANCEL'" +
+            " group by date(o.order_date), oi.item_id";
+
+    private static final String REBUILD_STORE = "insert into daily_store_sales" +
+            " (sales_date, store_name, order_count, quantity, net_amount)" +
+            " select date(o.order_date), coalesce(d.store_name, ''), count(distinct o.order_id), sum(oi.count), sum(oi.order_price * oi.count - oi.discount_price)" +
+            " from orders o join delivery d on d.delivery_id = o.delivery_id" +
+            " join order_item oi on oi.order_id = o.order_id" +
+            " where o.order_date >= :from and o.order_date < :to and o.status <> 'CANCEL'" +
+            " group by date(o.order_date), coalesce(d.store_name, '')";
+
+
+    /**
+     * 주문들의 집계 변경분 기록
+     * 주문 수와 관계없이 insert 한 문장이며 집계 행은 잠그지 않는다.
+     * @param sign 주문 수, 수량, 금액에 곱할 값 (생성 +1, 취소 -1, 결제 확인 0)
+     * @param confirmed 결제 확인 수 증감
+     * @param cancelled 취소 수 증감
+     */
+    public void record(List<Long> orderIds, int sign, int confirmed, int cancelled) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+
+        //아직 insert되지 않은 주문도 기록되도록 먼저 반영한다.
+        em.flush();
+
+        nativeUpdate(RECORD_EVENTS, SalesRollupEvent.class)
+                .setParameter("orderIds", orderIds)
+                .setParameter("sign", sign)
+                .setParameter("confirmed", confirmed)
+                .setParameter("cancelled", cancelled)
+                .executeUpdate();
+    }
+
+    /**
+     * 반영할 변경분을 오래된 순서로 쓰기 잠금으로 조회
+     * 여러 인스턴스가 동시에 반영해도 잠금을 먼저 잡은 쪽만 같은 변경분을 반영하고, 나머지는 지워진 뒤의 변경분을 읽는다.
+     */
+    public List<SalesRollupEvent> findEventsForUpdate(int limit) {
+        return em.createQuery("select e from SalesRollupEvent e order by e.id", SalesRollupEvent.class)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public void deleteEvents(List<Long> eventIds) {
+        em.createQuery("delete from SalesRollupEvent e where e.id in :eventIds")
+                .setParameter("eventIds", eventIds)
+                .executeUpdate();
+    }
+
+    /**
+     * 주문들을 집계에 반영
+     * 여러 주문을 넘겨도 테이블마다 한 문장으로 반영한다.
+     * @param sign 주문 수, 수량, 금액에 곱할 값 (생성 +1, 취소 -1, 결제 확인 0)
+     * @param confirmed 결제 확인 수 증감
+     * @param cancelled 취소 수 증감
+     */
+    public void apply(List<Long> orderIds, int sign, int confirmed, int cancelled) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+
+        //아직 insert되지 않은 주문 상품도 집계에 포함되도록 먼저 반영한다.
+        em.flush();
+
+        nativeUpdate(APPLY_DAILY, DailySales.class)
+                .setParameter("orderIds", orderIds)
+                .setParameter("sign", sign)
+                .setParameter("confirmed", confirmed)
+                .setParameter("cancelled", cancelled)
+                .executeUpdate();
+
+        if (sign == 0) {
+            return;
+        }
+
+        nativeUpdate(APPLY_ITEM, DailyItemSales.class)
+                .setParameter("orderIds", orderIds)
+                .setParameter("sign", sign)
+                .executeUpdate();
+        nativeUpdate(APPLY_STORE, DailyStoreSales.class)
+                .setParameter("orderIds", orderIds)
+                .setParameter("sign", sign)
+                .executeUpdate();
+    }
+
+    /**
+     * 하루치 집계 재계산
+     */
+    public void rebuild(LocalDate date) {
+        Map<Class<?>, String> tables = Map.of(
+                DailySales.class, REBUILD_DAILY,
+                DailyItemSales.class, REBUILD_ITEM,
+                DailyStoreSales.class, REBUILD_STORE);
+
+        tables.forEach((rollup, sql) -> {
+            em.createQuery("delete from " + rollup.getSimpleName() + " s where s.salesDate = :date")
+                    .setParameter("date", date)
+                    .executeUpdate();
+            nativeUpdate(sql, rollup)
+                    .setParameter("from", date.atStartOfDay())
+                    .setParameter("to", date.plusDays(1).atStartOfDay())
+                    .executeUpdate();
+        });
+    }
+
+    public List<DailySales> findDaily(LocalDate from, LocalDate to) {
+        return em.createQuery("select s from DailySales s" +
+                        " where s.salesDate between :from and :to" +
+                        " order by s.salesDate", DailySales.class)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultList();
+    }
+
+    public List<DailyItemSales> findItems(LocalDate date, int limit) {
+        return em.createQuery("select s from DailyItemSales s" +
+                        " where s.salesDate = :date and s.orderCount > 0" +
+                        " order by s.quantity desc, s.itemId", DailyItemSales.class)
+                .setParameter("date", date)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public List<DailyStoreSales> findStores(LocalDate date) {
+        return em.createQuery("select s from DailyStoreSales s" +
+                        " where s.salesDate = :date and s.orderCount > 0" +
+                        " order by s.netAmount desc, s.storeName", DailyStoreSales.class)
+                .setParameter("date", date)
+                .getResultList();
+    }
+
+    /**
+     * 집계 테이블만 바꾸는 네이티브 쿼리
+     * 변경 대상 엔티티를 알려주지 않으면 Hibernate가 2차 캐시 전체(상품 캐시 포함)를 비우므로 반드시 지정한다.
+     */
+    private NativeQuery<?> nativeUpdate(String sql, Class<?> rollup) {
+        return em.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(rollup);
+    }
+}
@@ -1,21 +1,29 @@
 package company.orderApp.service;
 
 
+import company.orderApp.controller.response.CartDto;
 import company.orderApp.discount.DiscountPolicy;
 import company.orderApp.domain.Cart;
 import company.orderApp.domain.User;
+import company.orderApp.domain.item.Item;
 import company.orderApp.domain.order.OrderItem;
 import company.orderApp.repository.CartRepository;
 import company.orderApp.repository.ItemRepository;
 import company.orderApp.repository.UserRepository;
+import company.orderApp.service.cart.CartOperation;
+import company.orderApp.service.exception.CartAlreadyOrderedException;
 import company.orderApp.service.exception.NonExistentCartException;
+import company.orderApp.service.exception.NonExistentItemException;
 import company.orderApp.service.exception.NonExistentOrderItemException;
 import company.orderApp.service.exception.NonExistentUserException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Objects;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -25,59 +33,46 @@ public class CartService {
 
     private final CartRepository cartRepository;
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
     private final DiscountPolicy discountPolicy;
 
     /**
      * 상품 담기
+     * 장바구니에 같은 상품이 있으면 수량만 더하고, 없으면 새로 담는다.
+     * 장바구니 전체를 읽지 않고 (장바구니, 상품) 한 줄을 upsert 한 번으로 반영한 뒤, 바뀐 수량으로 할인 금액만 맞춘다.
      */
     @Transactional
     public void addItem(Long userId, OrderItem orderItem) {
 
-        //엔티티 조회
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NonExistentUserException("존재하지 않는 회원입니다."));
-
-
-        Optional<Cart> optionalCart = findCurrentCart(user);
-        //상품을 장바구니에 처음 담는 경우.
-        if (optionalCart.isEmpty()) {
-            //장바구니 생성.
-            Cart newCart = Cart.createCart(user);
-            //상품 담기.
-            newCart.addOrderItem(orderItem);
-            //장바구니 저장.
-            cartRepository.save(newCart);
+        //상품을 장바구니에 처음 담는 경우 장바구니 생성. 새 장바구니는 아직 다른 트랜잭션에서 주문할 수 없다.
+        Cart cart = cartRepository.findActiveByUserId(userId)
+                .map(this::lockEditable)
+                .orElseGet(() -> {
+                    User user = userRepository.findById(userId)
+                            .orElseThrow(() -> new NonExistentUserException("존재하지 않는 회원입니다."));
+                    Cart newCart = Cart.createCart(user);
+                    cartRepository.save(newCart);
+                    return newCart;
+                });
+
+        Long itemId = orderItem.getItem().getId();
+        cartRepository.upsertLine(cart.getId(), orderItem, OrderItem.MAX_COUNT);
+
+        //upsert한 행은 이 트랜잭션이 잠그고 있으므로 읽은 수량이 바뀌지 않는다.
+        OrderItem line = cartRepository.findLine(cart.getId(), itemId)
+                .orElseThrow(() -> new NonExistentOrderItemException("존재하지 않는 주문상품입니다."));
+        int discountPrice = discountPolicy.discount(line.getCount(), orderItem.getItem().getMinimumQuantityForDiscount());
+        if (line.getDiscountPrice() != discountPrice) {
+            line.setDiscountPrice(discountPrice);
         }
-        //장바구니에 상품이 존재하는 경우
-        optionalCart.ifPresent( cart -> {
-
-            Optional<OrderItem> findOrderItem = cart.getOrderItems().stream()
-                    .filter(value -> value.getItem().getItemNumber() == orderItem.getItem().getItemNumber())
-                    .findFirst();
-
-            findOrderItem.ifPresentOrElse(
-                    //장바구니에 담으려는 상품이 존재하는 상품의 제품번호가 같을 경우
-                    element -> {
-                        element.setCount(element.getCount() + orderItem.getCount());
-                        element.setDiscountPrice(discountPolicy.discount(element.getCount() + orderItem.getCount(), orderItem.getItem().getMinimumQuantityForDiscount()));
-                    },
-
-                    //장바구니에 새로운 상품을 담는 경우
-                    () -> //상품 담기 후 dirty checking.
-                            cart.addOrderItem(orderItem)
-            );
-
-        });
-
-
-
     }
 
     /**
      * 현재 장바구니 조회
+     * 주문한 장바구니 수와 관계없이 (user_id, is_ordered) 인덱스로 장바구니와 상품을 한 번에 읽는다.
      */
-    public Optional<Cart> findCurrentCart(User user) {
-        return user.getCarts().stream().filter(e -> !e.isOrdered()).findFirst();
+    public Optional<Cart> findCurrentCart(Long userId) {
+        return cartRepository.findActiveWithLines(userId);
     }
 
 
@@ -87,50 +82,105 @@ public class CartService {
     @Transactional
     public void removeItem(Long userId, Long itemId) {
 
-        //엔티티 조회
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NonExistentUserException("존재하지 않는 회원입니다."));
-
-        Optional<Cart> optionalCart = findCurrentCart(user);
+        Cart cart = findCurrentCartByUserId(userId);
 
-        if(optionalCart.isEmpty()){
-            throw new NonExistentCartException("장바구니가 존재하지 않습니다.");
+        if (cartRepository.deleteLine(cart.getId(), itemId) == 0) {
+            throw new NonExistentOrderItemException("존재하지 않는 주문상품입니다.");
         }
+    }
 
-        optionalCart.ifPresent( cart -> {
-            OrderItem orderItem = cart.getOrderItems().stream()
-                    .filter(oi -> Objects.equals(oi.getItem().getId(), itemId))
-                    .findFirst()
-                    .orElseThrow();
+    /**
+     * 주문 수량 변경
+     */
+    @Transactional
+    public void changeItemCount(Long userId, Long itemId, int count) {
 
-            cart.removeOrderItem(orderItem);
-        });
+        Cart cart = findCurrentCartByUserId(userId);
+
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new NonExistentItemException("존재하지 않는 상품입니다."));
 
+        int newCount = Math.min(count, OrderItem.MAX_COUNT);
+        int updated = cartRepository.updateLine(cart.getId(), itemId, newCount,
+                discountPolicy.discount(newCount, item.getMinimumQuantityForDiscount()));
 
+        if (updated == 0) {
+            throw new NonExistentOrderItemException("존재하지 않는 주문상품입니다.");
+        }
     }
 
     /**
-     * 주문 수량 변경
+     * 장바구니 일괄 변경
+     * 작업들을 먼저 상품별 최종 수량으로 합친 뒤, 한 번 읽은 장바구니와 비교해 바뀐 줄만 update/insert/delete 한다.
+     * 한 트랜잭션에서 처리하므로 존재하지 않는 상품이 하나라도 있으면 아무것도 반영하지 않는다.
      */
     @Transactional
-    public void changeItemCount(Long userId, Long itemId, int count) {
-        //엔티티 조회
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NonExistentUserException("존재하지 않는 회원입니다."));
+    public CartDto applyBatch(Long userId, List<CartOperation> operations) {
+        Optional<Cart> current = cartRepository.findActiveWithLines(userId).map(this::lockEditable);
 
-        Optional<Cart> optionalCart = findCurrentCart(user);
+        Map<Long, Integer> counts = new LinkedHashMap<>();
+        current.ifPresent(cart -> cart.getOrderItems().forEach((itemId, line) -> counts.put(itemId, line.getCount())));
+        Map<Long, Integer> result = CartOperation.fold(counts, operations, OrderItem.MAX_COUNT);
 
-        if(optionalCart.isEmpty()) throw new NonExistentCartException("장바구니가 존재하지 않습니다.");
+        if (current.isEmpty() && result.isEmpty()) {
+            return new CartDto();
+        }
+
+        //상품을 장바구니에 처음 담는 경우 장바구니 생성.
+        Cart cart = current.orElseGet(() -> {
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new NonExistentUserException("존재하지 않는 회원입니다."));
+            Cart newCart = Cart.createCart(user);
+            cartRepository.save(newCart);
+            return newCart;
+        });
 
-        optionalCart.ifPresent(cart -> {
-            OrderItem orderItem = cart.getOrderItems().stream()
-                    .filter(e -> Objects.equals(e.getItem().getId(), itemId))
-                    .findFirst()
-                    .orElseThrow(() -> new NonExistentOrderItemException("존재하지 않는 주문상품입니다."));
+        //빠진 상품
+        for (OrderItem line : new ArrayList<>(cart.getOrderItems().values())) {
+            if (!result.containsKey(line.getItemId())) {
+                cart.removeOrderItem(line);
+                cartRepository.removeLine(line);
+            }
+        }
 
-            orderItem.setCount(count);
-            orderItem.setDiscountPrice(discountPolicy.discount(count, orderItem.getItem().getMinimumQuantityForDiscount()));
+        //수량이 바뀌었거나 새로 담은 상품
+        result.forEach((itemId, count) -> {
+            OrderItem line = cart.getOrderItems().get(itemId);
+            if (line != null && line.getCount() == count) {
+                return;
+            }
+
+            Item item = itemRepository.findById(itemId)
+                    .orElseThrow(() -> new NonExistentItemException("존재하지 않는 상품입니다."));
+            int discountPrice = discountPolicy.discount(count, item.getMinimumQuantityForDiscount());
+
+            if (line != null) {
+                line.setCount(count);
+                line.setDiscountPrice(discountPrice);
+            } else {
+                OrderItem newLine = OrderItem.createOrderItem(item, item.getPrice(), count, discountPrice);
+                cart.addOrderItem(newLine);
+                cartRepository.saveLine(newLine);
+            }
         });
 
+        return new CartDto(cart);
+    }
+
+    private Cart findCurrentCartByUserId(Long userId) {
+        return cartRepository.findActiveByUserId(userId)
+                .map(this::lockEditable)
+                .orElseThrow(() -> new NonExistentCartException("장바구니가 존재하지 않습니다."));
+    }
+
+    /**
+     * 장바구니 상품을 바꾸기 전에 장바구니를 공유 잠금으로 확인한다.
+     * 장바구니를 찾은 뒤 다른 요청이 주문을 마쳤으면, 주문으로 옮겨진 상품을 바꾸지 않도록 거절한다.
+     */
+    private Cart lockEditable(Cart cart) {
+        if (!cartRepository.lockEditable(cart.getId())) {
+            throw new CartAlreadyOrderedException("이미 주문한 장바구니입니다.");
+        }
+        return cart;
     }
 }
@@ -0,0 +1,51 @@
+package company.orderApp.service;
+
+import company.orderApp.domain.order.OrderItem;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 주문을 접수할 때 회원이 본 장바구니 상품 한 줄
+ * 접수와 저장 사이에 장바구니가 바뀌었는지 저장할 때 확인하는 데 쓴다.
+ */
+@Getter
+@AllArgsConstructor
+public class CheckoutLine {
+
+    private final Long itemId;
+    private final int count;
+    private final int orderPrice;
+    private final int discountPrice;
+
+    public static CheckoutLine of(OrderItem orderItem) {
+        return new CheckoutLine(orderItem.getItemId(), orderItem.getCount(), orderItem.getOrderPrice(), orderItem.getDiscountPrice());
+    }
+
+    /**
+     * 장바구니 상품이 접수할 때와 같은지 확인 (상품, 수량, 가격, 할인 금액)
+     */
+    public static boolean matches(List<CheckoutLine> expected, List<OrderItem> lines) {
+        if (expected.size() != lines.size()) {
+            return false;
+        }
+
+        Map<Long, CheckoutLine> byItem = new HashMap<>();
+        for (CheckoutLine line : expected) {
+            byItem.put(line.itemId, line);
+        }
+        for (OrderItem line : lines) {
+            CheckoutLine snapshot = byItem.get(line.getItemId());
+            if (snapshot == null
+                    || snapshot.count != line.getCount()
+                    || snapshot.orderPrice != line.getOrderPrice()
+                    || snapshot.discountPrice != line.getDiscountPrice()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
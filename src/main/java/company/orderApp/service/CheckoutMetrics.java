@@ -0,0 +1,58 @@
+package company.orderApp.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 장바구니 주문 경합 지표
+ * 같은 장바구니로 동시에 주문하면 장바구니 행 잠금을 기다린 뒤 한 요청만 주문에 성공하고 나머지는 충돌로 끝난다.
+ */
+@Component
+public class CheckoutMetrics {
+
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder totalLockWaitNanos = new LongAdder();
+    private final LongAccumulator maxLockWaitNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * 장바구니 주문 처리 상태 변경 결과 기록
+     * @param lockWaitNanos 조건부 update에 걸린 시간 (다른 주문의 행 잠금 대기 포함)
+     * @param won 이 요청이 장바구니를 주문 처리했는지
+     */
+    public void record(long lockWaitNanos, boolean won) {
+        attempts.increment();
+        if (won) {
+            succeeded.increment();
+        } else {
+            conflicts.increment();
+        }
+        totalLockWaitNanos.add(lockWaitNanos);
+        maxLockWaitNanos.accumulate(lockWaitNanos);
+    }
+
+    public long getAttempts() {
+        return attempts.sum();
+    }
+
+    public long getSucceeded() {
+        return succeeded.sum();
+    }
+
+    public long getConflicts() {
+        return conflicts.sum();
+    }
+
+    public double getAverageLockWaitMillis() {
+        long count = attempts.sum();
+        return count == 0 ? 0 : (double) totalLockWaitNanos.sum() / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double getMaxLockWaitMillis() {
+        return (double) maxLockWaitNanos.get() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,86 @@
+package company.orderApp.service;
+
+
+import company.orderApp.domain.Delivery;
+import company.orderApp.domain.order.Order;
+import company.orderApp.domain.order.OrderItem;
+import company.orderApp.domain.order.Receipt;
+import company.orderApp.repository.CartRepository;
+import company.orderApp.repository.OrderRepository;
+import company.orderApp.repository.UserRepository;
+import company.orderApp.service.exception.CartAlreadyOrderedException;
+import company.orderApp.service.exception.CartChangedException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * 장바구니로 주문하기
+ * 한 트랜잭션에서 장바구니 상품 수와 관계없이 정해진 문장만 실행한다.
+ * 장바구니 주문 처리(조건부 update), 장바구니 상품 잠금 조회, 배송지/주문 insert, 주문 상품 연결(update 한 번), 매출 집계.
+ * 장바구니를 먼저 주문 처리한 뒤 상품을 잠그고 읽으므로, 주문 금액은 주문으로 옮기는 바로 그 행들로 계산된다.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class CheckoutService {
+
+    private final CartRepository cartRepository;
+    private final UserRepository userRepository;
+    private final OrderRepository orderRepository;
+    private final SalesRollupService salesRollupService;
+    private final CheckoutMetrics checkoutMetrics;
+
+    /**
+     * 회원의 현재 장바구니로 주문하기
+     */
+    @Transactional
+    public Long checkout(Long userId, Delivery delivery, String phoneNumber, Receipt receipt, String request) {
+        markOrdered(() -> cartRepository.markActiveOrdered(userId));
+
+        return createOrder(userId, cartRepository.findOrderedLinesForUpdate(userId), delivery, phoneNumber, receipt, request);
+    }
+
+    /**
+     * 접수할 때 정해진 장바구니로 주문하기 (주문 접수 큐)
+     * 접수 뒤 장바구니가 바뀌었으면 회원이 보지 못한 상품이 주문되므로 주문하지 않는다.
+     * @param expected 접수할 때의 장바구니 상품
+     */
+    @Transactional
+    public Long checkout(Long userId, Long cartId, List<CheckoutLine> expected, Delivery delivery, String phoneNumber, Receipt receipt, String request) {
+        markOrdered(() -> cartRepository.markOrdered(userId, cartId));
+
+        List<OrderItem> lines = cartRepository.findLinesForUpdate(cartId);
+        if (!CheckoutLine.matches(expected, lines)) {
+            throw new CartChangedException("주문 접수 후 장바구니가 바뀌었습니다. 다시 주문해 주세요.");
+        }
+        return createOrder(userId, lines, delivery, phoneNumber, receipt, request);
+    }
+
+    /**
+     * 장바구니를 조건부 update로 먼저 주문 처리해, 같은 장바구니로 동시에 주문하면 한 요청만 주문된다.
+     */
+    private void markOrdered(IntSupplier update) {
+        long start = System.nanoTime();
+        boolean won = update.getAsInt() > 0;
+        checkoutMetrics.record(System.nanoTime() - start, won);
+
+        if (!won) {
+            throw new CartAlreadyOrderedException("이미 주문한 장바구니입니다.");
+        }
+    }
+
+    private Long createOrder(Long userId, List<OrderItem> lines, Delivery delivery, String phoneNumber, Receipt receipt, String request) {
+        //회원은 외래 키로만 쓰므로 조회하지 않는다.
+        Order order = Order.createOrderByCheckout(userRepository.getReferenceById(userId), delivery, lines, phoneNumber, receipt, request);
+        orderRepository.save(order);
+
+        cartRepository.moveLinesToOrder(lines.stream().map(OrderItem::getId).toList(), order);
+        salesRollupService.orderCreated(order.getId());
+
+        return order.getId();
+    }
+}
@@ -0,0 +1,80 @@
+package company.orderApp.service;
+
+
+import company.orderApp.controller.response.ItemDto;
+import company.orderApp.controller.response.ItemSearchResponse;
+import company.orderApp.domain.item.Item;
+import company.orderApp.repository.ItemRepository;
+import company.orderApp.service.catalog.CatalogChangedEvent;
+import company.orderApp.service.catalog.ItemSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class ItemSearchService {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final ItemRepository itemRepository;
+    private final ItemSearchIndex index = new ItemSearchIndex();
+
+    private volatile boolean loaded;
+
+    /**
+     * 상품 검색
+     * 노출 중인 상품만 id 오름차순으로 반환하며, 결과가 limit만큼 채워지면 마지막 id를 다음 커서로 돌려준다.
+     */
+    public ItemSearchResponse search(String query, Long after, int limit) {
+        if (!loaded) {
+            load();
+        }
+
+        int size = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        List<ItemDto> result = index.search(query, after, size);
+        Long next = result.size() < size ? null : result.get(result.size() - 1).getId();
+
+        return new ItemSearchResponse(result.size(), result, next);
+    }
+
+    /**
+     * 상품이 변경된 경우 변경된 상품만 다시 색인한다.
+     * 아직 색인을 만들기 전이면 처음 검색할 때 전체를 읽으므로 무시한다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onCatalogChanged(CatalogChangedEvent event) {
+        if (!loaded) {
+            return;
+        }
+
+        Map<Long, Item> items = itemRepository.findAllById(event.getItemIds()).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        for (Long itemId : event.getItemIds()) {
+            Item item = items.get(itemId);
+            if (item != null && item.isVisible()) {
+                index.put(new ItemDto(item));
+            } else {
+                index.remove(itemId);
+            }
+        }
+    }
+
+    private synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        index.clear();
+        for (Item item : itemRepository.findAllByVisibleTrue()) {
+            index.put(new ItemDto(item));
+        }
+        loaded = true;
+    }
+}
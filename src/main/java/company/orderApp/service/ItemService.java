@@ -1,22 +1,46 @@
 package company.orderApp.service;
 
 
+import company.orderApp.JpaConfig;
+import company.orderApp.domain.item.CatalogCounter;
 import company.orderApp.domain.item.Item;
+import company.orderApp.repository.CatalogCounterRepository;
 import company.orderApp.repository.ItemRepository;
+import company.orderApp.service.catalog.CatalogChangedEvent;
 import company.orderApp.service.exception.ExcessBestItemException;
 import company.orderApp.service.exception.NonExistentItemException;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
-public class ItemService {
+public class ItemService implements SmartInitializingSingleton {
 
     private final ItemRepository itemRepository;
+    private final CatalogCounterRepository catalogCounterRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager em;
+
+    @Value("${item.best.max-count:10}")
+    private long maxBestItemCount;
+
+
+    /**
+     * 카탈로그 카운터 행 준비 (웹 서버가 요청을 받기 전에 실행된다)
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        catalogCounterRepository.insertIfAbsent(CatalogCounter.ID);
+    }
 
 
     /**
@@ -24,35 +48,137 @@ public class ItemService {
      */
     @Transactional
     public Long registerItem(Item item) {
+        CatalogCounter counter = lockCatalogCounter();
+
+        if (item.isBest()) {
+            addBestItem(counter);
+        }
+
+        item.markChanged(counter.nextVersion());
         itemRepository.save(item);
+
+        eventPublisher.publishEvent(new CatalogChangedEvent(List.of(item.getId())));
         return item.getId();
     }
 
+    /**
+     * 상품 일괄 등록
+     * JDBC batch 크기만큼 insert를 모아 flush하고 영속성 컨텍스트를 비워 메모리 사용을 일정하게 유지한다.
+     * 등록한 상품은 모두 같은 카탈로그 버전을 받고, 카탈로그 변경 이벤트도 마지막에 한 번만 발행한다.
+     * 베스트 상품 수 제한을 넘는 베스트 상품은 등록하지 않고 나머지만 등록한다.
+     * @return 베스트 상품 수 제한으로 등록하지 않은 상품의 items 내 위치
+     */
+    @Transactional
+    public List<Integer> registerItems(List<Item> items) {
+        CatalogCounter counter = lockCatalogCounter();
+
+        List<Integer> rejected = new ArrayList<>();
+        List<Item> accepted = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            if (item.isBest()) {
+                if (counter.getBestItemCount() >= maxBestItemCount) {
+                    rejected.add(i);
+                    continue;
+                }
+                counter.increaseBestItemCount();
+            }
+            accepted.add(item);
+        }
+
+        if (accepted.isEmpty()) {
+            return rejected;
+        }
+        long version = counter.nextVersion();
+
+        List<Long> itemIds = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            Item item = accepted.get(i);
+            item.markChanged(version);
+            em.persist(item);
+            itemIds.add(item.getId());
+
+            if ((i + 1) % JpaConfig.BATCH_SIZE == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+
+        eventPublisher.publishEvent(new CatalogChangedEvent(itemIds));
+        return rejected;
+    }
+
+    /**
+     * 상품 정보 수정
+     */
+    @Transactional
+    public void updateItem(Long itemId, String name, int price, String imgPath, String itemNumber, String manufacturer, String description, int saleAmount, boolean isBest) {
+        CatalogCounter counter = lockCatalogCounter();
+
+        Item item = findItemById(itemId);
+
+        //노출 중인 상품의 베스트 여부가 바뀐 경우에만 베스트 상품 수를 갱신.
+        if (item.isVisible() && item.isBest() != isBest) {
+            if (isBest) {
+                addBestItem(counter);
+            } else {
+                counter.decreaseBestItemCount();
+            }
+        }
+
+        item.changeInfo(name, price, imgPath, itemNumber, manufacturer, description, saleAmount, isBest);
+        item.markChanged(counter.nextVersion());
+
+        eventPublisher.publishEvent(new CatalogChangedEvent(List.of(itemId)));
+    }
+
+    /**
+     * 상품 이미지 변경
+     */
+    @Transactional
+    public void changeImage(Long itemId, String imgPath) {
+        CatalogCounter counter = lockCatalogCounter();
+
+        Item item = findItemById(itemId);
+        item.changeImgPath(imgPath);
+        item.markChanged(counter.nextVersion());
+
+        eventPublisher.publishEvent(new CatalogChangedEvent(List.of(itemId)));
+    }
+
     /**
      * 상품 등록 삭제
      */
     @Transactional
     public void removeItem(Long itemId) {
+        CatalogCounter counter = lockCatalogCounter();
 
         itemRepository.findById(itemId).ifPresentOrElse(
-                Item::hide,
+                item -> {
+                    if (item.isVisible() && item.isBest()) {
+                        counter.decreaseBestItemCount();
+                    }
+                    item.hide();
+                    item.markChanged(counter.nextVersion());
+                },
                 () -> {
                     throw new NonExistentItemException("존재하지 않는 상품입니다.");
                 }
         );
+
+        eventPublisher.publishEvent(new CatalogChangedEvent(List.of(itemId)));
     }
 
 
     /**
      * 베스트 상품 갯수 조회
+     * 상품 테이블 대신 상품 변경 시 함께 갱신되는 카운터를 읽는다.
      */
     public long findBestItemNumber() {
-        List<Item> allItem = itemRepository.findAll();
-
-        return allItem.stream()
-                .filter(Item::isBest)
-                .count();
-
+        return catalogCounterRepository.findById(CatalogCounter.ID)
+                .filter(CatalogCounter::hasBestItemCount)
+                .map(CatalogCounter::getBestItemCount)
+                .orElseGet(itemRepository::countByIsBestTrueAndVisibleTrue);
     }
 
 
@@ -61,5 +187,47 @@ public class ItemService {
                 .orElseThrow(() -> new NonExistentItemException("존재하지 않는 상품입니다."));
     }
 
+    /**
+     * 현재 카탈로그 버전 조회
+     */
+    public long findCatalogVersion() {
+        return catalogCounterRepository.findById(CatalogCounter.ID)
+                .map(CatalogCounter::getVersion)
+                .orElse(0L);
+    }
+
+    /**
+     * 특정 버전 이후 추가/수정/숨김 처리된 상품 조회
+     * since가 0이면 처음 동기화하는 클라이언트이므로 노출 중인 상품 전체를 반환한다.
+     */
+    public List<Item> findChangedItems(long since) {
+        if (since <= 0) {
+            return itemRepository.findAllByVisibleTrue();
+        }
+        return itemRepository.findAllByCatalogVersionGreaterThanOrderByCatalogVersionAsc(since);
+    }
+
+    /**
+     * 카탈로그 카운터 조회
+     * 카운터 행에 쓰기 락을 잡으므로 상품 변경 트랜잭션은 커밋 순서대로 버전을 받고,
+     * 베스트 상품 수 확인과 갱신도 다른 관리자의 변경과 겹치지 않는다.
+     */
+    private CatalogCounter lockCatalogCounter() {
+        CatalogCounter counter = catalogCounterRepository.findForUpdate(CatalogCounter.ID)
+                .orElseThrow(() -> new IllegalStateException("카탈로그 카운터가 없습니다."));
+
+        if (!counter.hasBestItemCount()) {
+            counter.initBestItemCount(itemRepository.countByIsBestTrueAndVisibleTrue());
+        }
+        return counter;
+    }
+
+    private void addBestItem(CatalogCounter counter) {
+        if (counter.getBestItemCount() >= maxBestItemCount) {
+            throw new ExcessBestItemException("베스트 상품은 최대 " + maxBestItemCount + "개까지 등록할 수 있습니다.");
+        }
+        counter.increaseBestItemCount();
+    }
+
 
 }
@@ -0,0 +1,135 @@
+package company.orderApp.service;
+
+import company.orderApp.controller.response.ArchivedOrderDto;
+import company.orderApp.controller.response.OrderItemDto;
+import company.orderApp.domain.item.Item;
+import company.orderApp.domain.order.OrderArchive;
+import company.orderApp.domain.order.OrderCursor;
+import company.orderApp.domain.order.OrderItemArchive;
+import company.orderApp.repository.OrderArchiveRepository;
+import company.orderApp.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 주문 보관
+ * 보관 기간(order.archive.age-months)이 지난 주문을 매일 orders_archive, order_item_archive로 옮겨
+ * 주문 내역/관리자 조회가 읽는 orders, order_item 테이블을 최근 주문만으로 유지한다.
+ * 보관 기간은 회원 주문 내역 기간(3개월)보다 짧게 설정할 수 없다.
+ */
+@Slf4j
+@Service
+public class OrderArchiveService {
+
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int ageMonths;
+    private final int chunkSize;
+
+    public OrderArchiveService(OrderArchiveRepository orderArchiveRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${order.archive.enabled:true}") boolean enabled,
+                               @Value("${order.archive.age-months:6}") int ageMonths,
+                               @Value("${order.archive.chunk-size:500}") int chunkSize) {
+        this.orderArchiveRepository = orderArchiveRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.ageMonths = Math.max(ageMonths, OrderRepository.RECENT_MONTHS);
+        this.chunkSize = Math.max(chunkSize, 1);
+    }
+
+    /**
+     * 이 시각 이전에 주문된 주문은 보관 테이블로 옮겨졌거나 옮겨질 대상이다.
+     */
+    public LocalDateTime cutoff() {
+        return LocalDateTime.now().minusMonths(ageMonths);
+    }
+
+    @Scheduled(cron = "${order.archive.cron:0 0 4 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archive();
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 주문 옮기기
+     * chunk-size개씩 트랜잭션을 나누어 커밋하므로 주문 테이블을 오래 잠그지 않는다.
+     * @return 옮긴 주문 수
+     */
+    public int archive() {
+        LocalDateTime cutoff = cutoff();
+        int total = 0;
+
+        try {
+            while (true) {
+                int moved = transactionTemplate.execute(status -> archiveChunk(cutoff));
+                if (moved == 0) {
+                    break;
+                }
+                total += moved;
+            }
+        } catch (DataAccessException e) {
+            //다른 인스턴스가 같은 주문을 옮기고 있으면 이미 옮긴 청크까지만 처리하고 다음 실행에 맡긴다.
+            log.warn("주문 보관 중단 archived={}", total, e);
+        }
+
+        log.info("주문 보관 cutoff={} archived={}", cutoff, total);
+        return total;
+    }
+
+    /**
+     * 회원의 보관 주문 내역 조회
+     */
+    @Transactional(readOnly = true)
+    public List<ArchivedOrderDto> findArchivedOrders(Long userId, OrderCursor after, int limit) {
+        List<OrderArchive> orders = orderArchiveRepository.findAllByUser(userId, after, limit);
+        List<Long> orderIds = orders.stream()
+                .map(OrderArchive::getId)
+                .toList();
+
+        Map<Long, List<OrderItemDto>> orderItems = new HashMap<>();
+        for (Object[] row : orderArchiveRepository.findOrderItemsWithItem(orderIds)) {
+            OrderItemArchive orderItem = (OrderItemArchive) row[0];
+            orderItems.computeIfAbsent(orderItem.getOrderId(), id -> new ArrayList<>())
+                    .add(new OrderItemDto(orderItem, (Item) row[1]));
+        }
+
+        return orders.stream()
+                .map(o -> new ArchivedOrderDto(o, orderItems.getOrDefault(o.getId(), List.of())))
+                .toList();
+    }
+
+    private int archiveChunk(LocalDateTime cutoff) {
+        List<Object[]> rows = orderArchiveRepository.findArchivable(cutoff, chunkSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> orderIds = rows.stream()
+                .map(row -> (Long) row[0])
+                .toList();
+        List<Long> deliveryIds = rows.stream()
+                .map(row -> (Long) row[1])
+                .filter(Objects::nonNull)
+                .toList();
+
+        orderArchiveRepository.move(orderIds, deliveryIds, LocalDateTime.now());
+        return orderIds.size();
+    }
+}
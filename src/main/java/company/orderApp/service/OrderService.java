@@ -1,23 +1,32 @@
 package company.orderApp.service;
 
 
+import company.orderApp.controller.response.OrderAdminDto;
+import company.orderApp.controller.response.OrderDto;
 import company.orderApp.discount.DiscountPolicy;
-import company.orderApp.domain.Cart;
 import company.orderApp.domain.Delivery;
 import company.orderApp.domain.User;
 import company.orderApp.domain.order.Order;
+import company.orderApp.domain.order.OrderCursor;
+import company.orderApp.domain.order.OrderExportRow;
 import company.orderApp.domain.order.OrderItem;
+import company.orderApp.domain.order.OrderStatus;
 import company.orderApp.domain.order.Receipt;
-import company.orderApp.repository.CartRepository;
 import company.orderApp.repository.OrderRepository;
 import company.orderApp.repository.UserRepository;
-import company.orderApp.service.exception.NonExistentCartException;
 import company.orderApp.service.exception.NonExistentOrderException;
 import company.orderApp.service.exception.NonExistentUserException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 @Service
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
@@ -26,28 +35,9 @@ public class OrderService {
     private final UserRepository userRepository;
     private final OrderRepository orderRepository;
     private final DiscountPolicy discountPolicy;
-    private final CartRepository cartRepository;
-
-    /**
-     * 장바구니로 주문하기
-     */
-    @Transactional
-    public Long orderByCart(Long userId, Long cartId, Delivery delivery, String phoneNumber, Receipt receipt, String request) {
-        //엔티티 조회
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NonExistentUserException("존재하지 않는 회원입니다."));
-        Cart cart = cartRepository.findById(cartId)
-                .orElseThrow(() -> new NonExistentCartException("존재하지 않는 장바구니입니다."));
-
-        cart.setOrdered();
-
-        Order order = Order.createOrderByCart(user, delivery, cart, phoneNumber, receipt, request);
-        orderRepository.save(order);
-
-        return order.getId();
-
-    }
+    private final SalesRollupService salesRollupService;
 
+    private static final int EXPORT_FETCH_SIZE = 1000;
 
     /**
      * 단독 상품 주문하기
@@ -62,6 +52,7 @@ public class OrderService {
         Order order = Order.createOrderByOrderItem(user, delivery, orderItem, phoneNumber, receipt, request);
 
         orderRepository.save(order);
+        salesRollupService.orderCreated(order.getId());
 
         return order.getId();
     }
@@ -76,23 +67,109 @@ public class OrderService {
         Order order = findOrderById(orderId);
 
         //주문 취소
+        OrderStatus previousStatus = order.getStatus();
         order.cancel();
+
+        salesRollupService.ordersCancelled(List.of(orderId), previousStatus);
+    }
+
+
+    /**
+     * 결제 확인하기
+     */
+    @Transactional
+    public void confirmOrder(Long orderId) {
+        //엔티티 조회
+        Order order = findOrderById(orderId);
+
+        //결제 확인
+        order.confirm();
+
+        salesRollupService.ordersConfirmed(List.of(orderId));
     }
 
 
     /**
      * 주문 전체 가격 조회하기
+     * 주문 시점에 저장한 결제 금액을 반환한다. 합계가 백필되지 않은 주문은 주문 상품에 저장된 금액으로 계산한다.
      */
     public int getOrderTotalPrice(Order order) {
+        if (order.hasTotals()) {
+            return order.getNetPrice();
+        }
 
         return order.getOrderItems().stream()
-                .mapToInt(element -> element.getTotalPrice() - discountPolicy.discount(element.getCount(), element.getItem().getMinimumQuantityForDiscount()))
+                .mapToInt(element -> element.getTotalPrice() - element.getDiscountPrice())
                 .sum();
     }
 
+    /**
+     * 회원 주문 내역 조회
+     * 주문 + 배송지 조회 1번, 주문 상품 + 상품 조회 1번으로 페이지 크기와 관계없이 쿼리 수가 고정된다.
+     */
+    public List<OrderDto> findRecentOrders(Long userId, int offset, int limit) {
+        return toOrderDtos(orderRepository.findRecentAllByUser(userId, offset, limit));
+    }
+
+    /**
+     * 회원 주문 내역 조회 (키셋 페이지네이션)
+     */
+    public List<OrderDto> findRecentOrders(Long userId, OrderCursor after, int limit) {
+        return toOrderDtos(orderRepository.findRecentAllByUser(userId, after, limit));
+    }
+
+    /**
+     * 당일 주문 내역 조회 (관리자)
+     */
+    public List<OrderAdminDto> findOrdersByDate(LocalDateTime date, int offset, int limit) {
+        return toOrderAdminDtos(orderRepository.findAllByDate(date, offset, limit));
+    }
+
+    /**
+     * 당일 주문 내역 조회 (관리자, 키셋 페이지네이션)
+     */
+    public List<OrderAdminDto> findOrdersByDate(LocalDateTime date, OrderCursor after, int limit) {
+        return toOrderAdminDtos(orderRepository.findAllByDate(date, after, limit));
+    }
+
+    /**
+     * 기간 내 주문 내보내기
+     * DB 커서로 한 행씩 읽어 바로 넘기므로 주문 수와 관계없이 메모리 사용량이 일정하다.
+     */
+    public void exportOrders(LocalDateTime from, LocalDateTime to, Consumer<OrderExportRow> consumer) {
+        try (Stream<OrderExportRow> rows = orderRepository.streamExportRows(from, to, EXPORT_FETCH_SIZE)) {
+            rows.forEach(consumer);
+        }
+    }
+
     public Order findOrderById(Long orderId) {
         return orderRepository.findById(orderId)
                 .orElseThrow(() -> new NonExistentOrderException("존재하지 않는 주문입니다."));
     }
 
+    private List<OrderDto> toOrderDtos(List<Order> orders) {
+        Map<Long, List<OrderItem>> orderItems = findOrderItemsByOrder(orders);
+
+        return orders.stream()
+                .map(o -> new OrderDto(o, orderItems.getOrDefault(o.getId(), List.of())))
+                .toList();
+    }
+
+    private List<OrderAdminDto> toOrderAdminDtos(List<Order> orders) {
+        Map<Long, List<OrderItem>> orderItems = findOrderItemsByOrder(orders);
+
+        return orders.stream()
+                .map(o -> new OrderAdminDto(o, orderItems.getOrDefault(o.getId(), List.of())))
+                .toList();
+    }
+
+    private Map<Long, List<OrderItem>> findOrderItemsByOrder(List<Order> orders) {
+        List<Long> orderIds = orders.stream()
+                .map(Order::getId)
+                .toList();
+
+        return orderRepository.findOrderItemsWithItem(orderIds).stream()
+                .collect(Collectors.groupingBy(oi -> oi.getOrder().getId()));
+    }
+
 }
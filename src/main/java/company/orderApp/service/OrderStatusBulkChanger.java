@@ -0,0 +1,93 @@
+package company.orderApp.service;
+
+import company.orderApp.controller.response.OrderStatusChangeResponse;
+import company.orderApp.controller.response.OrderStatusConflict;
+import company.orderApp.domain.order.Order;
+import company.orderApp.domain.order.OrderStatus;
+import company.orderApp.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 관리자 주문 일괄 결제 확인 / 취소
+ * 주문을 CHUNK_SIZE개씩 나누어 청크마다 행을 잠그고 상태를 확인한 뒤,
+ * 현재 상태별로 UPDATE 한 문장씩 실행한다. 바꿀 수 없는 주문과 처리하지 못한 청크는 충돌로 응답한다.
+ */
+@Slf4j
+@Component
+public class OrderStatusBulkChanger {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final OrderRepository orderRepository;
+    private final SalesRollupService salesRollupService;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderStatusBulkChanger(OrderRepository orderRepository, SalesRollupService salesRollupService, PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.salesRollupService = salesRollupService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public OrderStatusChangeResponse change(List<Long> orderIds, OrderStatus next) {
+        List<Long> ids = orderIds == null ? List.of() : orderIds.stream().distinct().toList();
+        List<OrderStatusConflict> conflicts = new ArrayList<>();
+        int updated = 0;
+
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+            List<OrderStatusConflict> chunkConflicts = new ArrayList<>();
+
+            try {
+                updated += transactionTemplate.execute(status -> changeChunk(chunk, next, chunkConflicts));
+                conflicts.addAll(chunkConflicts);
+            } catch (DataAccessException e) {
+                //락 대기 시간 초과 등으로 청크가 롤백되면 청크의 주문 모두 처리하지 못한 것으로 응답한다.
+                log.warn("주문 일괄 상태 변경 청크 실패 size={}", chunk.size(), e);
+                for (Long id : chunk) {
+                    conflicts.add(new OrderStatusConflict(id, "다른 요청과 충돌해 처리하지 못했습니다."));
+                }
+            }
+        }
+
+        return new OrderStatusChangeResponse(ids.size(), updated, conflicts);
+    }
+
+    private int changeChunk(List<Long> chunk, OrderStatus next, List<OrderStatusConflict> conflicts) {
+        Map<Long, OrderStatus> current = orderRepository.findAllForUpdate(chunk).stream()
+                .collect(Collectors.toMap(Order::getId, Order::getStatus));
+
+        Map<OrderStatus, List<Long>> idsByStatus = new EnumMap<>(OrderStatus.class);
+        for (Long id : chunk) {
+            OrderStatus status = current.get(id);
+            if (status == null) {
+                conflicts.add(new OrderStatusConflict(id, "존재하지 않는 주문입니다."));
+            } else if (!status.canChangeTo(next)) {
+                conflicts.add(new OrderStatusConflict(id, status + " 상태의 주문은 " + next + "(으)로 변경할 수 없습니다."));
+            } else {
+                idsByStatus.computeIfAbsent(status, s -> new ArrayList<>()).add(id);
+            }
+        }
+
+        int updated = 0;
+        for (Map.Entry<OrderStatus, List<Long>> entry : idsByStatus.entrySet()) {
+            updated += orderRepository.updateStatus(entry.getValue(), entry.getKey(), next);
+
+            if (next == OrderStatus.CANCEL) {
+                salesRollupService.ordersCancelled(entry.getValue(), entry.getKey());
+            } else {
+                salesRollupService.ordersConfirmed(entry.getValue());
+            }
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,75 @@
+package company.orderApp.service;
+
+import company.orderApp.domain.order.Order;
+import company.orderApp.domain.order.OrderItem;
+import company.orderApp.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 금액 합계 컬럼 추가 이전 주문의 합계 채우기
+ * 주문을 id 순으로 chunkSize개씩 나누어 청크마다 트랜잭션을 커밋하므로
+ * 오래 걸려도 락을 길게 잡지 않고, 중간에 멈춰도 다시 실행하면 남은 주문부터 이어서 처리한다.
+ */
+@Slf4j
+@Component
+public class OrderTotalsBackfill {
+
+    private final OrderRepository orderRepository;
+    private final EntityManager em;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderTotalsBackfill(OrderRepository orderRepository, EntityManager em, PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.em = em;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * @return 합계를 채운 주문 수
+     */
+    public int run(int chunkSize) {
+        int size = Math.max(chunkSize, 1);
+        int total = 0;
+        long lastId = 0;
+
+        while (true) {
+            long afterId = lastId;
+            List<Long> updated = transactionTemplate.execute(status -> backfillChunk(afterId, size));
+            if (updated.isEmpty()) {
+                break;
+            }
+
+            total += updated.size();
+            lastId = updated.get(updated.size() - 1);
+            log.info("주문 합계 백필 진행 updated={} lastId={}", total, lastId);
+        }
+        return total;
+    }
+
+    private List<Long> backfillChunk(long afterId, int chunkSize) {
+        List<Order> orders = orderRepository.findWithoutTotals(afterId, chunkSize);
+        List<Long> orderIds = orders.stream()
+                .map(Order::getId)
+                .toList();
+
+        Map<Long, List<OrderItem>> orderItems = orderRepository.findOrderItems(orderIds).stream()
+                .collect(Collectors.groupingBy(oi -> oi.getOrder().getId()));
+
+        for (Order order : orders) {
+            order.calculateTotals(orderItems.getOrDefault(order.getId(), List.of()));
+        }
+
+        //요청 단위 영속성 컨텍스트가 열려 있어도 청크마다 비워 메모리 사용을 일정하게 유지한다.
+        em.flush();
+        em.clear();
+        return orderIds;
+    }
+}
@@ -0,0 +1,158 @@
+package company.orderApp.service;
+
+import company.orderApp.controller.response.DailyItemSalesDto;
+import company.orderApp.controller.response.DailySalesDto;
+import company.orderApp.controller.response.DailyStoreSalesDto;
+import company.orderApp.domain.order.OrderStatus;
+import company.orderApp.domain.sales.SalesRollupEvent;
+import company.orderApp.repository.SalesRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 관리자 대시보드용 매출 집계
+ * 주문 생성/취소/결제 확인과 같은 트랜잭션에서 변경분만 기록하므로 주문과 변경분이 어긋나지 않는다.
+ * 집계 테이블에는 변경분을 모아 주기적으로 반영하므로, 주문들이 오늘 집계 행의 잠금을 기다리지 않는 대신 조회는 반영 주기만큼 늦을 수 있다.
+ * 집계는 주문일 기준이며, 취소된 주문은 원래 주문일의 집계에서 빠진다.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class SalesRollupService {
+
+    private final SalesRollupRepository salesRollupRepository;
+    private final OrderArchiveService orderArchiveService;
+    private final TransactionTemplate transactionTemplate;
+    private final int foldChunkSize;
+
+    public SalesRollupService(SalesRollupRepository salesRollupRepository, OrderArchiveService orderArchiveService, PlatformTransactionManager transactionManager,
+                              @Value("${sales.rollup.fold-chunk-size:500}") int foldChunkSize) {
+        this.salesRollupRepository = salesRollupRepository;
+        this.orderArchiveService = orderArchiveService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.foldChunkSize = foldChunkSize;
+    }
+
+    @Transactional
+    public void orderCreated(Long orderId) {
+        salesRollupRepository.record(List.of(orderId), 1, 0, 0);
+    }
+
+    /**
+     * @param previousStatus 취소 전 주문 상태. 결제 확인된 주문이었다면 확인 수도 되돌린다.
+     */
+    @Transactional
+    public void ordersCancelled(List<Long> orderIds, OrderStatus previousStatus) {
+        salesRollupRepository.record(orderIds, -1, previousStatus == OrderStatus.CONFIRM ? -1 : 0, 1);
+    }
+
+    @Transactional
+    public void ordersConfirmed(List<Long> orderIds) {
+        salesRollupRepository.record(orderIds, 0, 1, 0);
+    }
+
+    /**
+     * 쌓인 변경분을 집계 테이블에 반영
+     * 청크마다 트랜잭션을 나누어, 변경분을 잠그고 같은 종류끼리 모아 반영한 뒤 지운다.
+     * @return 반영한 변경분 수
+     */
+    @Scheduled(fixedDelayString = "${sales.rollup.fold-interval-ms:1000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int foldEvents() {
+        int folded = 0;
+        int count;
+        do {
+            count = transactionTemplate.execute(status -> foldChunk());
+            folded += count;
+        } while (count == foldChunkSize);
+        return folded;
+    }
+
+    private int foldChunk() {
+        List<SalesRollupEvent> events = salesRollupRepository.findEventsForUpdate(foldChunkSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        Map<List<Integer>, List<Long>> orderIdsByDelta = new LinkedHashMap<>();
+        for (SalesRollupEvent event : events) {
+            orderIdsByDelta.computeIfAbsent(List.of(event.getSign(), event.getConfirmed(), event.getCancelled()), key -> new ArrayList<>())
+                    .add(event.getOrderId());
+        }
+
+        orderIdsByDelta.forEach((delta, orderIds) -> {
+            //in 절은 같은 주문을 한 번만 집계하므로, 같은 변경이 두 번 쌓인 주문은 나누어 반영한다.
+            List<Long> remaining = orderIds;
+            while (!remaining.isEmpty()) {
+                Set<Long> round = new LinkedHashSet<>();
+                List<Long> duplicates = new ArrayList<>();
+                for (Long orderId : remaining) {
+                    if (!round.add(orderId)) {
+                        duplicates.add(orderId);
+                    }
+                }
+                salesRollupRepository.apply(List.copyOf(round), delta.get(0), delta.get(1), delta.get(2));
+                remaining = duplicates;
+            }
+        });
+
+        salesRollupRepository.deleteEvents(events.stream().map(SalesRollupEvent::getId).toList());
+        return events.size();
+    }
+
+    /**
+     * 기간 내 집계 재계산
+     * 하루씩 트랜잭션을 나누어 주문 테이블에서 다시 집계한다.
+     * 이미 주문 테이블에 반영된 변경분이 재계산 후 한 번 더 더해지지 않도록 쌓인 변경분을 먼저 반영한다.
+     * 보관 테이블로 옮겨진 주문이 있는 날은 주문 테이블만으로 다시 계산할 수 없으므로 건너뛴다.
+     * @return 재계산한 일 수
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int rebuild(LocalDate from, LocalDate to) {
+        foldEvents();
+
+        LocalDate firstHotDate = orderArchiveService.cutoff().toLocalDate().plusDays(1);
+        LocalDate start = from.isBefore(firstHotDate) ? firstHotDate : from;
+
+        int days = 0;
+        for (LocalDate date = start; !date.isAfter(to); date = date.plusDays(1)) {
+            LocalDate day = date;
+            transactionTemplate.executeWithoutResult(status -> salesRollupRepository.rebuild(day));
+            days++;
+        }
+        log.info("매출 집계 재계산 from={} to={} days={}", start, to, days);
+        return days;
+    }
+
+    public List<DailySalesDto> findDaily(LocalDate from, LocalDate to) {
+        return salesRollupRepository.findDaily(from, to).stream()
+                .map(DailySalesDto::new)
+                .toList();
+    }
+
+    public List<DailyItemSalesDto> findItems(LocalDate date, int limit) {
+        return salesRollupRepository.findItems(date, limit).stream()
+                .map(DailyItemSalesDto::new)
+                .toList();
+    }
+
+    public List<DailyStoreSalesDto> findStores(LocalDate date) {
+        return salesRollupRepository.findStores(date).stream()
+                .map(DailyStoreSalesDto::new)
+                .toList();
+    }
+}
@@ -0,0 +1,105 @@
+package company.orderApp.service.cart;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 장바구니 변경 기록 파일
+ * 메모리에만 반영되고 아직 DB에 쓰지 않은 변경을 한 줄씩 남겨, 프로세스가 죽어도 재시작할 때 다시 반영한다.
+ * 기록은 번호가 붙은 구간 파일에 쌓이며, DB 반영을 시작할 때 새 구간으로 넘기고
+ * 반영이 끝난 이전 구간은 지운다.
+ */
+class CartJournal {
+
+    private static final Pattern SEGMENT = Pattern.compile("cart-journal-(\\d+)\\.log");
+
+    private final Path directory;
+    private long sequence;
+    private Path current;
+    private BufferedWriter writer;
+
+    CartJournal(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.sequence = segments().stream()
+                .mapToLong(CartJournal::sequenceOf)
+                .max()
+                .orElse(0);
+        open();
+    }
+
+    /**
+     * 변경 기록 추가
+     */
+    synchronized void append(CartLineChange change) throws IOException {
+        writer.write(change.format());
+        writer.newLine();
+        writer.flush();
+    }
+
+    /**
+     * 이후 기록을 새 구간 파일에 쓰고, 닫은 구간 파일을 반환한다.
+     */
+    synchronized Path rotate() throws IOException {
+        Path closed = current;
+        writer.close();
+        open();
+        return closed;
+    }
+
+    /**
+     * 현재 쓰고 있는 구간을 제외한 구간 파일을 오래된 순서로 반환한다.
+     */
+    synchronized List<Path> closedSegments() throws IOException {
+        List<Path> segments = new ArrayList<>(segments());
+        segments.remove(current);
+        return segments;
+    }
+
+    static List<CartLineChange> read(Path segment) throws IOException {
+        List<CartLineChange> changes = new ArrayList<>();
+        for (String line : Files.readAllLines(segment, StandardCharsets.UTF_8)) {
+            //쓰는 도중 종료되어 잘린 마지막 줄은 건너뛴다.
+            CartLineChange.parse(line).ifPresent(changes::add);
+        }
+        return changes;
+    }
+
+    static void delete(Path segment) throws IOException {
+        Files.deleteIfExists(segment);
+    }
+
+    synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    private void open() throws IOException {
+        sequence++;
+        current = directory.resolve("cart-journal-" + sequence + ".log");
+        writer = Files.newBufferedWriter(current, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> SEGMENT.matcher(path.getFileName().toString()).matches())
+                    .sorted(Comparator.comparingLong(CartJournal::sequenceOf))
+                    .toList();
+        }
+    }
+
+    private static long sequenceOf(Path segment) {
+        Matcher matcher = SEGMENT.matcher(segment.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : 0;
+    }
+}
@@ -0,0 +1,64 @@
+package company.orderApp.service.cart;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Optional;
+
+/**
+ * 장바구니 상품 한 줄의 변경 후 상태
+ * 변경량이 아닌 최종 상태를 기록하므로 같은 기록을 여러 번 반영해도 결과가 같다. count가 0이면 삭제.
+ * itemId가 null이면 회원의 장바구니를 DB에 모두 썼다는 표시로, 이전 변경은 다시 반영하지 않는다.
+ */
+@Getter
+@AllArgsConstructor
+class CartLineChange {
+
+    private final Long userId;
+    private final Long itemId;
+    private final int count;
+    private final int orderPrice;
+    private final int discountPrice;
+
+    private static final String FLUSHED = "flushed";
+
+    static CartLineChange flushed(Long userId) {
+        return new CartLineChange(userId, null, 0, 0, 0);
+    }
+
+    boolean isFlushed() {
+        return itemId == null;
+    }
+
+    boolean isRemoved() {
+        return count == 0;
+    }
+
+    String format() {
+        if (isFlushed()) {
+            return userId + "," + FLUSHED;
+        }
+        return userId + "," + itemId + "," + count + "," + orderPrice + "," + discountPrice;
+    }
+
+    static Optional<CartLineChange> parse(String line) {
+        String[] fields = line.split(",");
+        if (fields.length == 2 && FLUSHED.equals(fields[1])) {
+            try {
+                return Optional.of(flushed(Long.valueOf(fields[0])));
+            } catch (NumberFormatException e) {
+                return Optional.empty();
+            }
+        }
+        if (fields.length != 5) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(new CartLineChange(Long.valueOf(fields[0]), Long.valueOf(fields[1]),
+                    Integer.parseInt(fields[2]), Integer.parseInt(fields[3]), Integer.parseInt(fields[4])));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+}
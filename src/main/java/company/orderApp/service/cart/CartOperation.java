@@ -0,0 +1,55 @@
+package company.orderApp.service.cart;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 장바구니 일괄 변경의 작업 한 개
+ */
+@Getter
+@AllArgsConstructor
+public class CartOperation {
+
+    public enum Type {
+        ADD,    // 수량 더하기. 없으면 새로 담고, 합친 수량이 0 이하면 뺀다.
+        SET,    // 수량 지정. 없으면 새로 담고, 0 이하면 뺀다.
+        REMOVE  // 빼기. 없으면 무시한다.
+    }
+
+    private final Type type;
+    private final Long itemId;
+    private final int count;
+
+    /**
+     * 작업들을 차례로 적용한 상품별 최종 수량. 장바구니에서 빠지는 상품은 결과에 없다.
+     * @param counts 현재 상품별 수량
+     */
+    public static Map<Long, Integer> fold(Map<Long, Integer> counts, List<CartOperation> operations, int maxCount) {
+        Map<Long, Integer> result = new LinkedHashMap<>(counts);
+        for (CartOperation operation : operations) {
+            switch (operation.type) {
+                case ADD -> {
+                    int merged = Math.min(result.getOrDefault(operation.itemId, 0) + operation.count, maxCount);
+                    if (merged <= 0) {
+                        result.remove(operation.itemId);
+                    } else {
+                        result.put(operation.itemId, merged);
+                    }
+                }
+                case SET -> {
+                    if (operation.count <= 0) {
+                        result.remove(operation.itemId);
+                    } else {
+                        result.put(operation.itemId, Math.min(operation.count, maxCount));
+                    }
+                }
+                case REMOVE -> result.remove(operation.itemId);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,611 @@
+package company.orderApp.service.cart;
+
+import company.orderApp.controller.response.CartDto;
+import company.orderApp.controller.response.OrderItemDto;
+import company.orderApp.discount.DiscountPolicy;
+import company.orderApp.domain.Cart;
+import company.orderApp.domain.User;
+import company.orderApp.domain.item.Item;
+import company.orderApp.domain.order.OrderItem;
+import company.orderApp.repository.CartRepository;
+import company.orderApp.repository.ItemRepository;
+import company.orderApp.repository.UserRepository;
+import company.orderApp.service.exception.NonExistentItemException;
+import company.orderApp.service.exception.NonExistentOrderItemException;
+import company.orderApp.service.exception.NonExistentUserException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 쓰기 지연 장바구니 저장소 (cart.store.write-behind=true 일 때만 사용)
+ * 회원의 현재 장바구니를 크기가 제한된 메모리 맵에 두고 조회/수정을 메모리에서 처리한다.
+ * 변경된 장바구니는 flush-interval-ms마다 batch-size개씩 한 트랜잭션으로 Cart/OrderItem 테이블에 쓴다.
+ * 아직 쓰지 않은 변경은 CartJournal 파일에도 남겨, 프로세스가 죽으면 다음 시작 때 DB에 반영한다.
+ * 장바구니 상태가 인스턴스 메모리에 있으므로 한 회원의 요청이 항상 같은 인스턴스로 가는 환경에서만 켠다.
+ */
+@Slf4j
+@Component
+public class CartStore implements SmartInitializingSingleton {
+
+    private final CartRepository cartRepository;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final DiscountPolicy discountPolicy;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int maxCarts;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+
+    // 회원 id -> 장바구니. 모든 변경과 DB 반영용 복사는 이 맵을 잠그고 처리한다.
+    private final LinkedHashMap<Long, CartState> carts;
+    private final CartJournal journal;
+    private final Object flushLock = new Object();
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cart-store-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CartStore(CartRepository cartRepository,
+                     UserRepository userRepository,
+                     ItemRepository itemRepository,
+                     DiscountPolicy discountPolicy,
+                     PlatformTransactionManager transactionManager,
+                     @Value("${cart.store.write-behind:false}") boolean enabled,
+                     @Value("${cart.store.max-carts:10000}") int maxCarts,
+                     @Value("${cart.store.batch-size:100}") int batchSize,
+                     @Value("${cart.store.flush-interval-ms:1000}") long flushIntervalMillis,
+                     @Value("${cart.store.journal-dir:cart-journal}") String journalDir) throws IOException {
+        this.cartRepository = cartRepository;
+        this.userRepository = userRepository;
+        this.itemRepository = itemRepository;
+        this.discountPolicy = discountPolicy;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.maxCarts = maxCarts;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.carts = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CartState> eldest) {
+                //DB에 쓰지 않았거나 쓰는 중인 장바구니는 내보내지 않는다. 반영이 끝난 뒤 trim()에서 크기를 맞춘다.
+                return size() > maxCarts && eldest.getValue().isEvictable();
+            }
+        };
+        this.journal = enabled ? new CartJournal(Path.of(journalDir)) : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 지난 실행에서 DB에 쓰지 못한 변경을 반영한 뒤 주기적인 DB 반영을 시작한다.
+     * 웹 서버가 요청을 받기 전에 실행된다.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+
+        recover();
+        writer.scheduleWithFixedDelay(this::flushDirty, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        writer.shutdown();
+        flushDirty();
+        journal.close();
+    }
+
+
+    /**
+     * 장바구니 조회
+     */
+    public CartDto view(Long userId) {
+        Map<Long, Line> lines = update(userId, state -> new LinkedHashMap<>(state.lines));
+
+        //상품은 2차 캐시에서 읽는다.
+        List<OrderItemDto> orderItems = new ArrayList<>();
+        lines.forEach((itemId, line) -> itemRepository.findById(itemId).ifPresent(item -> orderItems.add(
+                new OrderItemDto(OrderItem.createOrderItem(item, line.orderPrice, line.count, line.discountPrice)))));
+        return new CartDto(orderItems);
+    }
+
+    /**
+     * 상품 담기. 같은 상품이 있으면 수량만 더한다.
+     */
+    public void add(Long userId, Item item, int count) {
+        update(userId, state -> {
+            Line line = state.lines.get(item.getId());
+            int newCount = Math.min(count + (line != null ? line.count : 0), OrderItem.MAX_COUNT);
+            int orderPrice = line != null ? line.orderPrice : item.getPrice();
+
+            return put(state, item.getId(), new Line(newCount, orderPrice,
+                    discountPolicy.discount(newCount, item.getMinimumQuantityForDiscount())));
+        });
+    }
+
+    /**
+     * 주문 수량 변경
+     */
+    public void changeCount(Long userId, Item item, int count) {
+        update(userId, state -> {
+            Line line = state.lines.get(item.getId());
+            if (line == null) {
+                throw new NonExistentOrderItemException("존재하지 않는 주문상품입니다.");
+            }
+
+            int newCount = Math.min(count, OrderItem.MAX_COUNT);
+            return put(state, item.getId(), new Line(newCount, line.orderPrice,
+                    discountPolicy.discount(newCount, item.getMinimumQuantityForDiscount())));
+        });
+    }
+
+    /**
+     * 상품 제외하기
+     */
+    public void remove(Long userId, Long itemId) {
+        update(userId, state -> {
+            Line line = state.lines.remove(itemId);
+            if (line == null) {
+                throw new NonExistentOrderItemException("존재하지 않는 주문상품입니다.");
+            }
+
+            state.dirty = true;
+            appendJournal(new CartLineChange(userId, itemId, 0, line.orderPrice, 0));
+            return null;
+        });
+    }
+
+    /**
+     * 장바구니 일괄 변경. 작업들을 상품별 최종 수량으로 합쳐 한 번에 반영한다.
+     */
+    public CartDto apply(Long userId, List<CartOperation> operations) {
+        //상품 확인은 맵을 잠그기 전에 한다.
+        Map<Long, Item> items = new HashMap<>();
+        for (CartOperation operation : operations) {
+            if (operation.getType() != CartOperation.Type.REMOVE && !items.containsKey(operation.getItemId())) {
+                items.put(operation.getItemId(), itemRepository.findById(operation.getItemId())
+                        .orElseThrow(() -> new NonExistentItemException("존재하지 않는 상품입니다.")));
+            }
+        }
+
+        update(userId, state -> {
+            Map<Long, Integer> counts = new LinkedHashMap<>();
+            state.lines.forEach((itemId, line) -> counts.put(itemId, line.count));
+            Map<Long, Integer> result = CartOperation.fold(counts, operations, OrderItem.MAX_COUNT);
+
+            for (Long itemId : new ArrayList<>(state.lines.keySet())) {
+                if (!result.containsKey(itemId)) {
+                    Line line = state.lines.remove(itemId);
+                    state.dirty = true;
+                    appendJournal(new CartLineChange(userId, itemId, 0, line.orderPrice, 0));
+                }
+            }
+
+            result.forEach((itemId, count) -> {
+                Line line = state.lines.get(itemId);
+                if (line != null && line.count == count) {
+                    return;
+                }
+
+                Item item = items.get(itemId);
+                put(state, itemId, new Line(count, line != null ? line.orderPrice : item.getPrice(),
+                        discountPolicy.discount(count, item.getMinimumQuantityForDiscount())));
+            });
+            return null;
+        });
+
+        return view(userId);
+    }
+
+    /**
+     * 회원의 장바구니를 바로 DB에 쓴다. 장바구니로 주문하기 전에 호출한다.
+     * 쓰는 동안 바뀐 것이 없으면 기록 파일에 반영 완료 표시를 남겨, 재시작 때 이전 변경을 다시 반영하지 않게 한다.
+     * 표시가 없으면 주문으로 옮겨진 상품이 새 장바구니에 되살아난다.
+     * @return 메모리 장바구니가 쓰인 장바구니 id. 메모리에 없거나 아직 DB에 쓴 적이 없으면 null
+     */
+    public Long flush(Long userId) {
+        synchronized (flushLock) {
+            CartSnapshot snapshot;
+            synchronized (carts) {
+                CartState state = carts.get(userId);
+                if (state == null) {
+                    return null;
+                }
+                if (!state.dirty) {
+                    return state.cartId;
+                }
+                snapshot = state.snapshot();
+            }
+
+            write(List.of(snapshot));
+
+            synchronized (carts) {
+                CartState state = carts.get(userId);
+                if (state == null) {
+                    return null;
+                }
+                if (!state.dirty) {
+                    appendJournal(CartLineChange.flushed(userId));
+                }
+                return state.cartId;
+            }
+        }
+    }
+
+    /**
+     * 장바구니가 주문된 뒤 메모리 장바구니를 비운다.
+     * 주문 전의 변경은 주문된 장바구니의 것이므로 버리고, 이후 변경은 새 장바구니에 쓴다.
+     * 메모리 장바구니가 이미 다른 장바구니를 가리키면(DB 반영 중 주문을 발견해 비운 경우) 그대로 둔다.
+     * @param cartId 주문된 장바구니 id
+     */
+    public void ordered(Long userId, Long cartId) {
+        synchronized (carts) {
+            CartState state = carts.get(userId);
+            if (state != null && cartId != null && cartId.equals(state.cartId)) {
+                clearOrdered(state);
+            }
+        }
+    }
+
+
+    private <T> T update(Long userId, Function<CartState, T> change) {
+        CartState loaded = null;
+        while (true) {
+            synchronized (carts) {
+                CartState state = carts.get(userId);
+                if (state == null && loaded != null) {
+                    carts.put(userId, loaded);
+                    state = loaded;
+                }
+                if (state != null) {
+                    return change.apply(state);
+                }
+            }
+            //DB 조회는 맵을 잠그지 않고 한다.
+            loaded = load(userId);
+        }
+    }
+
+    private Void put(CartState state, Long itemId, Line line) {
+        state.lines.put(itemId, line);
+        state.dirty = true;
+        appendJournal(new CartLineChange(state.userId, itemId, line.count, line.orderPrice, line.discountPrice));
+        return null;
+    }
+
+    /**
+     * 주문된 장바구니 상태를 비우고 기록 파일에도 표시해, 재시작 때 주문 전 변경이 새 장바구니에 되살아나지 않게 한다.
+     * 맵을 잠그고 호출한다.
+     */
+    private void clearOrdered(CartState state) {
+        state.clear();
+        appendJournal(CartLineChange.flushed(state.userId));
+    }
+
+    private void appendJournal(CartLineChange change) {
+        try {
+            journal.append(change);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private CartState load(Long userId) {
+        return transactionTemplate.execute(status -> {
+            if (!userRepository.existsById(userId)) {
+                throw new NonExistentUserException("존재하지 않는 회원입니다.");
+            }
+
+            CartState state = new CartState(userId);
+            cartRepository.findActiveWithLines(userId).ifPresent(cart -> {
+                state.cartId = cart.getId();
+                for (OrderItem line : cart.getOrderItems().values()) {
+                    state.lines.put(line.getItemId(), new Line(line.getCount(), line.getOrderPrice(), line.getDiscountPrice()));
+                }
+            });
+            return state;
+        });
+    }
+
+    /**
+     * 변경된 장바구니를 모두 DB에 쓴다.
+     * 먼저 기록 파일을 새 구간으로 넘기므로, 이번 반영이 모두 성공하면 닫힌 구간의 변경은 모두 DB에 있다.
+     */
+    private void flushDirty() {
+        synchronized (flushLock) {
+            try {
+                journal.rotate();
+
+                List<CartSnapshot> snapshots = new ArrayList<>();
+                synchronized (carts) {
+                    for (CartState state : carts.values()) {
+                        if (state.dirty) {
+                            snapshots.add(state.snapshot());
+                        }
+                    }
+                }
+
+                boolean failed = false;
+                for (int from = 0; from < snapshots.size(); from += batchSize) {
+                    try {
+                        write(snapshots.subList(from, Math.min(from + batchSize, snapshots.size())));
+                    } catch (RuntimeException e) {
+                        log.warn("장바구니 DB 반영 실패, 다음 주기에 다시 시도합니다.", e);
+                        failed = true;
+                    }
+                }
+
+                if (!failed) {
+                    for (Path segment : journal.closedSegments()) {
+                        CartJournal.delete(segment);
+                    }
+                }
+                trim();
+            } catch (IOException | RuntimeException e) {
+                log.error("장바구니 DB 반영 중 오류", e);
+            }
+        }
+    }
+
+    /**
+     * 장바구니들을 한 트랜잭션으로 쓴다. 실패하면 다시 변경된 상태로 표시한다.
+     */
+    private void write(List<CartSnapshot> snapshots) {
+        Map<Long, Long> cartIds;
+        try {
+            cartIds = transactionTemplate.execute(status -> {
+                Map<Long, Long> written = new HashMap<>();
+                for (CartSnapshot snapshot : snapshots) {
+                    written.put(snapshot.userId, writeCart(snapshot));
+                }
+                return written;
+            });
+        } catch (RuntimeException e) {
+            synchronized (carts) {
+                for (CartSnapshot snapshot : snapshots) {
+                    CartState state = carts.get(snapshot.userId);
+                    if (state != null && state.generation == snapshot.generation) {
+                        state.dirty = true;
+                        state.inFlight = false;
+                    }
+                }
+            }
+            throw e;
+        }
+
+        synchronized (carts) {
+            for (CartSnapshot snapshot : snapshots) {
+                //쓰는 동안 주문되어 비운 장바구니에는 결과를 반영하지 않는다.
+                CartState state = carts.get(snapshot.userId);
+                if (state == null || state.generation != snapshot.generation) {
+                    continue;
+                }
+
+                Long cartId = cartIds.get(snapshot.userId);
+                if (cartId == null) {
+                    clearOrdered(state);
+                } else {
+                    state.cartId = cartId;
+                    state.inFlight = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * 장바구니 한 개를 메모리 상태와 같게 만든다. 바뀐 줄만 update, 새 줄은 insert, 빠진 줄은 delete.
+     * 메모리 장바구니가 가리키는 장바구니가 이미 주문되었으면 그 상품들은 주문에 들어간 것이므로 쓰지 않는다.
+     * @return 쓴 장바구니 id. 주문된 장바구니라 쓰지 않았으면 null
+     */
+    private Long writeCart(CartSnapshot snapshot) {
+        Cart cart;
+        if (snapshot.cartId == null) {
+            cart = findWritableCart(snapshot.userId);
+        } else if (cartRepository.lockEditable(snapshot.cartId)) {
+            cart = cartRepository.findById(snapshot.cartId).orElseThrow();
+        } else {
+            return null;
+        }
+
+        Map<Long, OrderItem> existing = new HashMap<>();
+        for (OrderItem line : cartRepository.findLines(cart.getId())) {
+            existing.put(line.getItemId(), line);
+        }
+
+        snapshot.lines.forEach((itemId, line) -> {
+            OrderItem orderItem = existing.remove(itemId);
+            if (orderItem == null) {
+                saveLine(cart, itemId, line);
+            } else if (orderItem.getCount() != line.count || orderItem.getDiscountPrice() != line.discountPrice) {
+                orderItem.setCount(line.count);
+                orderItem.setDiscountPrice(line.discountPrice);
+            }
+        });
+
+        for (Long itemId : existing.keySet()) {
+            cartRepository.deleteLine(cart.getId(), itemId);
+        }
+        return cart.getId();
+    }
+
+    /**
+     * 지난 실행의 기록 파일 반영
+     * 반영 완료 표시가 이전 구간의 변경을 지울 수 있으므로 모든 구간을 순서대로 이어 한 번에 반영한다.
+     */
+    private void recover() {
+        try {
+            List<Path> segments = journal.closedSegments();
+            if (segments.isEmpty()) {
+                return;
+            }
+
+            List<CartLineChange> changes = new ArrayList<>();
+            for (Path segment : segments) {
+                changes.addAll(CartJournal.read(segment));
+            }
+
+            transactionTemplate.executeWithoutResult(status -> replay(changes));
+            for (Path segment : segments) {
+                CartJournal.delete(segment);
+            }
+            log.info("장바구니 변경 기록 반영 files={} changes={}", segments.size(), changes.size());
+        } catch (IOException | RuntimeException e) {
+            //반영하지 못한 파일은 남겨두고 다음 시작 때 다시 시도한다.
+            log.error("장바구니 변경 기록 반영 실패", e);
+        }
+    }
+
+    private void replay(List<CartLineChange> changes) {
+        //회원, 상품별 마지막 상태만 반영한다. 반영 완료 표시 이전의 변경은 이미 DB에 있다.
+        Map<Long, Map<Long, CartLineChange>> lastChanges = new LinkedHashMap<>();
+        for (CartLineChange change : changes) {
+            if (change.isFlushed()) {
+                lastChanges.remove(change.getUserId());
+                continue;
+            }
+            lastChanges.computeIfAbsent(change.getUserId(), id -> new LinkedHashMap<>())
+                    .put(change.getItemId(), change);
+        }
+
+        lastChanges.forEach((userId, lines) -> {
+            if (!userRepository.existsById(userId)) {
+                return;
+            }
+
+            Cart cart = findWritableCart(userId);
+            lines.forEach((itemId, change) -> {
+                if (change.isRemoved()) {
+                    cartRepository.deleteLine(cart.getId(), itemId);
+                } else if (cartRepository.updateLine(cart.getId(), itemId, change.getCount(), change.getDiscountPrice()) == 0) {
+                    saveLine(cart, itemId, new Line(change.getCount(), change.getOrderPrice(), change.getDiscountPrice()));
+                }
+            });
+        });
+    }
+
+    /**
+     * 상품을 쓸 장바구니. 공유 잠금으로 주문하지 않은 장바구니인지 확인하므로, 쓰는 동안 그 장바구니는 주문되지 않는다.
+     */
+    private Cart findWritableCart(Long userId) {
+        return cartRepository.findActiveByUserId(userId)
+                .filter(cart -> cartRepository.lockEditable(cart.getId()))
+                .orElseGet(() -> {
+                    User user = userRepository.findById(userId)
+                            .orElseThrow(() -> new NonExistentUserException("존재하지 않는 회원입니다."));
+                    Cart cart = Cart.createCart(user);
+                    cartRepository.save(cart);
+                    return cart;
+                });
+    }
+
+    private void saveLine(Cart cart, Long itemId, Line line) {
+        OrderItem orderItem = OrderItem.createOrderItem(itemRepository.getReferenceById(itemId),
+                line.orderPrice, line.count, line.discountPrice);
+        orderItem.setCart(cart);
+        cartRepository.saveLine(orderItem);
+    }
+
+    /**
+     * DB에 쓰지 않은 장바구니 때문에 max-carts를 넘었으면 오래 쓰지 않은 장바구니부터 내보낸다.
+     */
+    private void trim() {
+        synchronized (carts) {
+            Iterator<CartState> iterator = carts.values().iterator();
+            while (carts.size() > maxCarts && iterator.hasNext()) {
+                if (iterator.next().isEvictable()) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+
+    private static class CartState {
+        private final Long userId;
+        private Long cartId;
+        private final Map<Long, Line> lines = new LinkedHashMap<>();
+        private boolean dirty;
+        // 복사본을 DB에 쓰는 중. 이때 내보내면 다음 조회가 커밋 전의 DB 행을 읽는다.
+        private boolean inFlight;
+        // 주문되어 비울 때마다 증가. 비우기 전에 뜬 복사본의 쓰기 결과는 반영하지 않는다.
+        private int generation;
+
+        private CartState(Long userId) {
+            this.userId = userId;
+        }
+
+        private CartSnapshot snapshot() {
+            dirty = false;
+            inFlight = true;
+            return new CartSnapshot(userId, cartId, generation, new LinkedHashMap<>(lines));
+        }
+
+        private void clear() {
+            lines.clear();
+            cartId = null;
+            dirty = false;
+            inFlight = false;
+            generation++;
+        }
+
+        private boolean isEvictable() {
+            return !dirty && !inFlight;
+        }
+    }
+
+    private static class CartSnapshot {
+        private final Long userId;
+        private final Long cartId;
+        private final int generation;
+        private final Map<Long, Line> lines;
+
+        private CartSnapshot(Long userId, Long cartId, int generation, Map<Long, Line> lines) {
+            this.userId = userId;
+            this.cartId = cartId;
+            this.generation = generation;
+            this.lines = lines;
+        }
+    }
+
+    private static class Line {
+        private final int count;
+        private final int orderPrice;
+        private final int discountPrice;
+
+        private Line(int count, int orderPrice, int discountPrice) {
+            this.count = count;
+            this.orderPrice = orderPrice;
+            this.discountPrice = discountPrice;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package company.orderApp.service.catalog;
+
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 미리 직렬화해 둔 JSON 응답 본문.
+ * 요청마다 DTO를 만들고 Jackson으로 직렬화하는 대신 보관한 바이트를 그대로 출력 스트림에 쓴다.
+ */
+@Getter
+public class CachedBody {
+
+    // 이보다 작은 본문은 압축해도 이득이 거의 없다.
+    private static final int GZIP_MIN_SIZE = 1024;
+
+    private final long version;
+    private final String eTag;
+    private final byte[] json;
+    private final byte[] gzip;
+
+    public CachedBody(long version, String eTag, byte[] json, boolean gzipEnabled) {
+        this.version = version;
+        this.eTag = eTag;
+        this.json = json;
+        this.gzip = gzipEnabled && json.length >= GZIP_MIN_SIZE ? compress(json) : null;
+    }
+
+    /**
+     * If-None-Match가 현재 ETag와 같으면 304, 아니면 본문을 그대로 쓴다.
+     * 클라이언트가 gzip을 받을 수 있으면 압축해 둔 본문을 보낸다.
+     */
+    public void writeTo(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        byte[] body = json;
+        if (gzip != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = gzip;
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * If-None-Match 헤더 값이 ETag와 일치하는지 확인
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (!StringUtils.hasText(ifNoneMatch)) {
+            return false;
+        }
+
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.equals("*")) {
+                return true;
+            }
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    private static byte[] compress(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,19 @@
+package company.orderApp.service.catalog;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 상품 등록/숨기기 등으로 카탈로그가 변경되었음을 알리는 이벤트.
+ * 트랜잭션 커밋 이후에 리스너가 처리한다.
+ */
+@Getter
+@AllArgsConstructor
+public class CatalogChangedEvent {
+
+    //변경된 상품 id 목록
+    private final List<Long> itemIds;
+}
@@ -0,0 +1,28 @@
+package company.orderApp.service.catalog;
+
+
+import company.orderApp.controller.response.ItemDto;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 특정 시점의 노출 상품 목록.
+ * 생성 이후 변경되지 않으며, 카탈로그가 바뀌면 새로운 스냅샷으로 교체된다.
+ * 목록과 베스트 상품 목록은 직렬화된 JSON 바이트로 함께 보관한다.
+ */
+@Getter
+public class CatalogSnapshot {
+
+    private final long version;
+    private final List<ItemDto> items;
+    private final CachedBody listBody;
+    private final CachedBody bestBody;
+
+    public CatalogSnapshot(long version, List<ItemDto> items, CachedBody listBody, CachedBody bestBody) {
+        this.version = version;
+        this.items = List.copyOf(items);
+        this.listBody = listBody;
+        this.bestBody = bestBody;
+    }
+}
@@ -0,0 +1,170 @@
+package company.orderApp.service.catalog;
+
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import company.orderApp.controller.response.ItemDetailDto;
+import company.orderApp.controller.response.ItemDto;
+import company.orderApp.controller.response.ResultResponse;
+import company.orderApp.domain.item.Item;
+import company.orderApp.repository.ItemRepository;
+import company.orderApp.service.ItemService;
+import company.orderApp.service.exception.NonExistentItemException;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 메모리에 보관하는 상품 목록 스냅샷과 상품 상세 응답.
+ * 상품 목록/상세 조회 시 DB와 Jackson을 거치지 않고 직렬화해 둔 본문을 그대로 응답한다.
+ * 다른 인스턴스에서 바뀐 상품은 이벤트를 받지 못하므로, refresh-interval-ms마다 카탈로그 버전을 확인해 반영한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemCatalog {
+
+    private final ItemRepository itemRepository;
+    private final ItemService itemService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${item.response.gzip:true}")
+    private boolean gzipEnabled;
+
+    private volatile CatalogSnapshot snapshot;
+
+    // 상품 id -> 상세 응답 본문. 같은 상품은 카탈로그 버전이 더 높은 본문만 남긴다.
+    // 노출 중인 상품만 보관하고 스냅샷을 다시 만들 때 나머지는 지우므로 노출 상품 수를 넘지 않는다.
+    private final Map<Long, CachedBody> details = new ConcurrentHashMap<>();
+
+    /**
+     * 현재 스냅샷 조회
+     */
+    public CatalogSnapshot current() {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            current = initialize();
+        }
+        return current;
+    }
+
+    /**
+     * 상품 상세 응답 조회
+     */
+    public CachedBody detail(Long itemId) {
+        CachedBody cached = details.get(itemId);
+        if (cached != null) {
+            return cached;
+        }
+
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new NonExistentItemException("존재하지 않는 상품입니다."));
+
+        return putDetail(item);
+    }
+
+    /**
+     * DB에서 노출 상품을 다시 읽어 스냅샷을 교체한다.
+     * 동시에 여러 번 호출되더라도 항상 마지막으로 읽은 목록이 최신 버전이 되도록 직렬화한다.
+     */
+    public synchronized CatalogSnapshot rebuild() {
+        //버전을 먼저 읽어야 목록이 버전보다 오래된 상태가 되지 않는다.
+        long version = itemService.findCatalogVersion();
+
+        List<ItemDto> items = itemRepository.findAllByVisibleTrue().stream()
+                .map(ItemDto::new)
+                .toList();
+        List<ItemDto> bestItems = items.stream()
+                .filter(ItemDto::isBest)
+                .toList();
+
+        //숨김 처리되었거나 삭제된 상품의 상세 응답은 버린다.
+        Set<Long> visibleIds = items.stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toSet());
+        details.keySet().retainAll(visibleIds);
+
+        CatalogSnapshot next = new CatalogSnapshot(version, items,
+                serialize(new ResultResponse<>(items.size(), items), version, "\"" + version + "\""),
+                serialize(new ResultResponse<>(bestItems.size(), bestItems), version, "\"best-" + version + "\""));
+        snapshot = next;
+
+        return next;
+    }
+
+    /**
+     * 카탈로그 버전이 스냅샷보다 높으면 그 사이 바뀐 상품으로 변경 이벤트를 발행한다.
+     * 카운터 행 한 개만 읽으므로 자주 실행해도 비용이 작다. 스냅샷과 상세 응답, 검색 색인이 함께 갱신된다.
+     */
+    @Scheduled(fixedDelayString = "${item.catalog.refresh-interval-ms:5000}")
+    public void refreshIfChanged() {
+        CatalogSnapshot current = snapshot;
+        if (current == null || itemService.findCatalogVersion() <= current.getVersion()) {
+            return;
+        }
+
+        List<Long> itemIds = itemService.findChangedItems(current.getVersion()).stream()
+                .map(Item::getId)
+                .toList();
+
+        //다른 인스턴스가 바꾼 상품은 이 인스턴스의 2차 캐시에 이전 값이 남아 있을 수 있다.
+        for (Long itemId : itemIds) {
+            entityManagerFactory.getCache().evict(Item.class, itemId);
+        }
+        eventPublisher.publishEvent(new CatalogChangedEvent(itemIds));
+    }
+
+    /**
+     * 상품 변경이 커밋된 이후에만 스냅샷을 교체해 롤백된 변경이 노출되지 않게 한다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        rebuild();
+
+        //변경된 상품의 상세 응답은 새 버전으로 덮어써 조회 중에 캐시된 이전 버전이 남지 않게 한다.
+        for (Item item : itemRepository.findAllById(event.getItemIds())) {
+            putDetail(item);
+        }
+    }
+
+    private CachedBody putDetail(Item item) {
+        long version = item.getCatalogVersion();
+        CachedBody body = serialize(new ItemDetailDto(item), version, "\"" + item.getId() + "-" + version + "\"");
+
+        //숨김 상품은 보관하지 않는다.
+        if (!item.isVisible()) {
+            details.remove(item.getId());
+            return body;
+        }
+
+        return details.merge(item.getId(), body,
+                (cached, fresh) -> fresh.getVersion() >= cached.getVersion() ? fresh : cached);
+    }
+
+    private CachedBody serialize(Object response, long version, String eTag) {
+        try {
+            return new CachedBody(version, eTag, objectMapper.writeValueAsBytes(response), gzipEnabled);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("상품 응답을 직렬화할 수 없습니다.", e);
+        }
+    }
+
+    private synchronized CatalogSnapshot initialize() {
+        if (snapshot != null) {
+            return snapshot;
+        }
+        return rebuild();
+    }
+}
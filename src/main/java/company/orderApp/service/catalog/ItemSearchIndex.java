@@ -0,0 +1,238 @@
+package company.orderApp.service.catalog;
+
+
+import company.orderApp.controller.response.ItemDto;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 상품명, 제조사, 제품번호, 설명에 대한 메모리 역색인.
+ *
+ * 한글은 형태소 분석 없이도 부분 일치 검색이 되도록 음절 단위 1-gram, 2-gram으로 색인하고,
+ * 상품명과 제조사는 초성(ㅅㄹㅁ → 신라면)으로도 찾을 수 있도록 초성 문자열을 함께 색인한다.
+ * n-gram 교집합으로 후보를 고른 뒤 원문에 검색어가 실제로 포함되는지 한 번 더 확인한다.
+ *
+ * 결과는 상품 id 오름차순이며, 마지막으로 받은 id를 다음 요청의 커서로 사용한다.
+ */
+public class ItemSearchIndex {
+
+    private static final char HANGUL_BEGIN = '가';
+    private static final char HANGUL_END = '힣';
+    private static final char[] CHOSEONG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ".toCharArray();
+    // 필드 경계를 넘는 부분 일치를 막기 위한 구분자
+    private static final char FIELD_SEPARATOR = '\u0000';
+
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+    private final Map<String, Posting> postings = new ConcurrentHashMap<>();
+
+    /**
+     * 상품 색인. 이미 색인된 상품이면 바뀐 n-gram만 갱신한다.
+     */
+    public synchronized void put(ItemDto item) {
+        List<String> fields = new ArrayList<>();
+        fields.add(normalize(item.getName()));
+        fields.add(normalize(item.getManufacturer()));
+        fields.add(normalize(item.getItemNumber()));
+        fields.add(normalize(item.getDescription()));
+        fields.add(choseong(fields.get(0)));
+        fields.add(choseong(fields.get(1)));
+
+        Set<String> grams = new HashSet<>();
+        for (String field : fields) {
+            addGrams(field, grams);
+        }
+
+        Document previous = documents.put(item.getId(), new Document(item, String.join(String.valueOf(FIELD_SEPARATOR), fields), grams));
+
+        if (previous != null) {
+            for (String gram : previous.grams) {
+                if (!grams.contains(gram)) {
+                    removePosting(gram, item.getId());
+                }
+            }
+        }
+        for (String gram : grams) {
+            postings.computeIfAbsent(gram, key -> new Posting()).add(item.getId());
+        }
+    }
+
+    /**
+     * 색인에서 상품 제외
+     */
+    public synchronized void remove(Long itemId) {
+        Document previous = documents.remove(itemId);
+        if (previous == null) {
+            return;
+        }
+        for (String gram : previous.grams) {
+            removePosting(gram, itemId);
+        }
+    }
+
+    public synchronized void clear() {
+        documents.clear();
+        postings.clear();
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    /**
+     * 검색
+     * @param query : 검색어
+     * @param after : 이전 페이지의 마지막 상품 id, 첫 페이지는 null
+     * @param limit : 최대 결과 수
+     */
+    public List<ItemDto> search(String query, Long after, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Set<String> queryGrams = new HashSet<>();
+        addGrams(normalized, queryGrams);
+
+        List<Posting> sets = new ArrayList<>(queryGrams.size());
+        for (String gram : queryGrams) {
+            Posting posting = postings.get(gram);
+            if (posting == null) {
+                return List.of();
+            }
+            sets.add(posting);
+        }
+        //가장 짧은 목록을 기준으로 나머지 목록에 포함되는지 확인한다.
+        sets.sort(Comparator.comparingInt(posting -> posting.size));
+
+        NavigableSet<Long> smallest = sets.get(0).ids;
+        Iterable<Long> candidates = after == null ? smallest : smallest.tailSet(after, false);
+
+        List<ItemDto> result = new ArrayList<>(Math.min(limit, 64));
+        for (Long id : candidates) {
+            if (!containsAll(sets, id)) {
+                continue;
+            }
+            Document document = documents.get(id);
+            if (document == null || !document.text.contains(normalized)) {
+                continue;
+            }
+            result.add(document.item);
+            if (result.size() == limit) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private boolean containsAll(List<Posting> sets, Long id) {
+        for (int i = 1; i < sets.size(); i++) {
+            if (!sets.get(i).ids.contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void removePosting(String gram, Long itemId) {
+        Posting posting = postings.get(gram);
+        if (posting == null) {
+            return;
+        }
+        posting.remove(itemId);
+        if (posting.size == 0) {
+            postings.remove(gram);
+        }
+    }
+
+    /**
+     * 1-gram은 한 글자 검색에, 2-gram은 두 글자 이상 검색에 사용한다.
+     */
+    private static void addGrams(String text, Set<String> grams) {
+        for (int i = 0; i < text.length(); i++) {
+            grams.add(text.substring(i, i + 1));
+            if (i + 1 < text.length()) {
+                grams.add(text.substring(i, i + 2));
+            }
+        }
+    }
+
+    /**
+     * NFC 정규화(분리된 자모를 완성형으로), 소문자 변환, 공백 제거
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String composed = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+
+        StringBuilder sb = new StringBuilder(composed.length());
+        for (int i = 0; i < composed.length(); i++) {
+            char c = composed.charAt(i);
+            if (!Character.isWhitespace(c) && c != FIELD_SEPARATOR) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 한글 음절을 초성으로 바꾼 문자열. 한글이 없으면 빈 문자열.
+     */
+    static String choseong(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean hasHangul = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= HANGUL_BEGIN && c <= HANGUL_END) {
+                sb.append(CHOSEONG[(c - HANGUL_BEGIN) / 588]);
+                hasHangul = true;
+            } else {
+                sb.append(c);
+            }
+        }
+        return hasHangul ? sb.toString() : "";
+    }
+
+    /**
+     * n-gram 하나의 상품 id 목록.
+     * ConcurrentSkipListSet.size()는 전체를 순회하므로 크기를 따로 보관한다. 변경은 색인의 락 안에서만 일어난다.
+     */
+    private static class Posting {
+        private final NavigableSet<Long> ids = new ConcurrentSkipListSet<>();
+        private volatile int size;
+
+        private void add(Long id) {
+            if (ids.add(id)) {
+                size++;
+            }
+        }
+
+        private void remove(Long id) {
+            if (ids.remove(id)) {
+                size--;
+            }
+        }
+    }
+
+    private static class Document {
+        private final ItemDto item;
+        private final String text;
+        private final Set<String> grams;
+
+        private Document(ItemDto item, String text, Set<String> grams) {
+            this.item = item;
+            this.text = text;
+            this.grams = grams;
+        }
+    }
+}
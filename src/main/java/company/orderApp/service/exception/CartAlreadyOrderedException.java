@@ -0,0 +1,14 @@
+package company.orderApp.service.exception;
+
+public class CartAlreadyOrderedException extends RuntimeException{
+    public CartAlreadyOrderedException() {
+    }
+
+    public CartAlreadyOrderedException(String message) {
+        super(message);
+    }
+
+    public CartAlreadyOrderedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,14 @@
+package company.orderApp.service.exception;
+
+public class CartChangedException extends RuntimeException{
+    public CartChangedException() {
+    }
+
+    public CartChangedException(String message) {
+        super(message);
+    }
+
+    public CartChangedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,14 @@
+package company.orderApp.service.exception;
+
+public class IllegalOrderStatusException extends RuntimeException{
+    public IllegalOrderStatusException() {
+    }
+
+    public IllegalOrderStatusException(String message) {
+        super(message);
+    }
+
+    public IllegalOrderStatusException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
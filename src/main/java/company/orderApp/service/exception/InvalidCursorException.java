@@ -0,0 +1,14 @@
+package company.orderApp.service.exception;
+
+public class InvalidCursorException extends RuntimeException{
+    public InvalidCursorException() {
+    }
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
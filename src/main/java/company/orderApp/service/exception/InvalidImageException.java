@@ -0,0 +1,14 @@
+package company.orderApp.service.exception;
+
+public class InvalidImageException extends RuntimeException{
+    public InvalidImageException() {
+    }
+
+    public InvalidImageException(String message) {
+        super(message);
+    }
+
+    public InvalidImageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,25 @@
+package company.orderApp.service.exception;
+
+import lombok.Getter;
+
+/**
+ * 일괄 등록 본문 자체가 깨져 더 읽을 수 없는 경우. row는 문제가 발생한 행 번호.
+ */
+@Getter
+public class InvalidImportException extends RuntimeException{
+    private final int row;
+
+    public InvalidImportException(int row) {
+        this.row = row;
+    }
+
+    public InvalidImportException(int row, String message) {
+        super(message);
+        this.row = row;
+    }
+
+    public InvalidImportException(int row, String message, Throwable cause) {
+        super(message, cause);
+        this.row = row;
+    }
+}
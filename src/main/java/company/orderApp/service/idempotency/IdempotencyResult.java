@@ -0,0 +1,36 @@
+package company.orderApp.service.idempotency;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 멱등성 키 확인 결과
+ * STARTED: 처음 받은 키이므로 요청을 처리한다.
+ * IN_PROGRESS: 같은 키의 요청을 다른 곳에서 처리하고 있다.
+ * COMPLETED: 이미 처리한 요청이므로 저장된 응답을 그대로 돌려준다.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class IdempotencyResult {
+
+    public enum State {
+        STARTED, IN_PROGRESS, COMPLETED
+    }
+
+    private final State state;
+    private final Integer status;
+    private final String body;
+
+    public static IdempotencyResult started() {
+        return new IdempotencyResult(State.STARTED, null, null);
+    }
+
+    public static IdempotencyResult inProgress() {
+        return new IdempotencyResult(State.IN_PROGRESS, null, null);
+    }
+
+    public static IdempotencyResult completed(int status, String body) {
+        return new IdempotencyResult(State.COMPLETED, status, body);
+    }
+}
@@ -0,0 +1,230 @@
+package company.orderApp.service.idempotency;
+
+import company.orderApp.domain.IdempotencyRecord;
+import company.orderApp.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 멱등성 키 저장소
+ * 최근 키는 크기가 제한된 메모리 맵에서 바로 확인하고, order.idempotency.db-enabled=true이면
+ * DB 테이블에도 기록해 다른 인스턴스로 재시도가 들어와도 한 번만 처리한다.
+ * 완료된 키는 ttl-seconds, 처리 중인 키는 lock-seconds가 지나면 없는 키로 본다.
+ * 만료된 DB 기록은 purge-interval-ms마다 purge-chunk-size개씩 나누어 삭제한다.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final TransactionTemplate requiresNew;
+
+    private final boolean dbEnabled;
+    private final long ttlMillis;
+    private final long lockMillis;
+    private final int purgeChunkSize;
+    private final Map<String, Entry> entries;
+
+    public IdempotencyStore(IdempotencyRecordRepository recordRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${order.idempotency.db-enabled:false}") boolean dbEnabled,
+                            @Value("${order.idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${order.idempotency.ttl-seconds:86400}") long ttlSeconds,
+                            @Value("${order.idempotency.lock-seconds:30}") long lockSeconds,
+                            @Value("${order.idempotency.purge-chunk-size:1000}") int purgeChunkSize) {
+        this.recordRepository = recordRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.dbEnabled = dbEnabled;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.lockMillis = lockSeconds * 1000;
+        this.purgeChunkSize = Math.max(purgeChunkSize, 1);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 회원, 경로, 키를 합쳐 저장소 키를 만든다. 다른 회원이나 다른 API가 같은 키를 써도 겹치지 않는다.
+     */
+    public static String scope(Long userId, String path, String idempotencyKey) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((userId + "\n" + path + "\n" + idempotencyKey).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 키 선점
+     * STARTED를 받은 호출자만 요청을 처리하고, 끝나면 complete 또는 release를 호출해야 한다.
+     */
+    public IdempotencyResult begin(String key) {
+        long now = System.currentTimeMillis();
+
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && !isExpired(entry.status != null, entry.createdAt, now)) {
+                return entry.toResult();
+            }
+            entries.put(key, new Entry(null, null, now));
+        }
+
+        if (!dbEnabled) {
+            return IdempotencyResult.started();
+        }
+
+        IdempotencyResult result;
+        try {
+            result = claim(key, now);
+        } catch (RuntimeException e) {
+            removeEntry(key);
+            throw e;
+        }
+
+        if (result.getState() == IdempotencyResult.State.COMPLETED) {
+            putEntry(key, new Entry(result.getStatus(), result.getBody(), now));
+        } else if (result.getState() == IdempotencyResult.State.IN_PROGRESS) {
+            //다른 인스턴스가 처리 중이므로 이후 재시도도 DB에서 다시 확인하도록 메모리 선점은 풀어둔다.
+            removeEntry(key);
+        }
+        return result;
+    }
+
+    /**
+     * 처리 결과 저장
+     */
+    public void complete(String key, int status, String body) {
+        putEntry(key, new Entry(status, body, System.currentTimeMillis()));
+
+        if (dbEnabled) {
+            requiresNew.executeWithoutResult(s -> recordRepository.findById(key)
+                    .ifPresent(record -> record.complete(status, body)));
+        }
+    }
+
+    /**
+     * 처리하지 못한 요청의 키 반납. 같은 키로 다시 요청하면 처음부터 처리한다.
+     */
+    public void release(String key) {
+        removeEntry(key);
+
+        if (dbEnabled) {
+            requiresNew.executeWithoutResult(s -> recordRepository.delete(key));
+        }
+    }
+
+    /**
+     * 만료된 DB 기록 삭제
+     * 청크마다 트랜잭션을 나누어 커밋하므로 키 선점 insert를 오래 막지 않는다.
+     * @return 삭제한 기록 수
+     */
+    @Scheduled(fixedDelayString = "${order.idempotency.purge-interval-ms:600000}")
+    public int purgeExpired() {
+        if (!dbEnabled) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime completedBefore = now.minus(ttlMillis, ChronoUnit.MILLIS);
+        LocalDateTime lockedBefore = now.minus(lockMillis, ChronoUnit.MILLIS);
+
+        int total = 0;
+        while (true) {
+            int deleted = requiresNew.execute(s -> recordRepository.deleteExpired(completedBefore, lockedBefore, purgeChunkSize));
+            total += deleted;
+            if (deleted < purgeChunkSize) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            log.info("만료된 멱등성 키 삭제 deleted={}", total);
+        }
+        return total;
+    }
+
+    private IdempotencyResult claim(String key, long now) {
+        if (insert(key)) {
+            return IdempotencyResult.started();
+        }
+
+        IdempotencyRecord existing = requiresNew.execute(s -> recordRepository.findById(key).orElse(null));
+        if (existing == null) {
+            //선점했던 요청이 방금 키를 반납한 경우. 잠시 후 재시도하면 처리된다.
+            return IdempotencyResult.inProgress();
+        }
+
+        long createdAt = existing.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (isExpired(existing.isCompleted(), createdAt, now)) {
+            requiresNew.executeWithoutResult(s -> recordRepository.delete(key));
+            return insert(key) ? IdempotencyResult.started() : IdempotencyResult.inProgress();
+        }
+
+        return existing.isCompleted()
+                ? IdempotencyResult.completed(existing.getStatus(), existing.getBody())
+                : IdempotencyResult.inProgress();
+    }
+
+    private boolean insert(String key) {
+        try {
+            requiresNew.executeWithoutResult(s -> recordRepository.insert(IdempotencyRecord.createRecord(key)));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    private boolean isExpired(boolean completed, long createdAt, long now) {
+        return now - createdAt > (completed ? ttlMillis : lockMillis);
+    }
+
+    private void putEntry(String key, Entry entry) {
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    private void removeEntry(String key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    private static class Entry {
+        private final Integer status;
+        private final String body;
+        private final long createdAt;
+
+        private Entry(Integer status, String body, long createdAt) {
+            this.status = status;
+            this.body = body;
+            this.createdAt = createdAt;
+        }
+
+        private IdempotencyResult toResult() {
+            return status == null ? IdempotencyResult.inProgress() : IdempotencyResult.completed(status, body);
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package company.orderApp.service.image;
+
+
+import company.orderApp.service.exception.InvalidImageException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 상품 이미지 로컬 디스크 저장소.
+ *
+ * 원본은 내용의 SHA-256 해시를 파일명으로 저장하므로 같은 이름의 파일은 내용이 바뀌지 않고,
+ * 해시를 그대로 강한 ETag로 쓸 수 있다.
+ * 목록 화면용 썸네일은 업로드 후 백그라운드 스레드에서 ImageIO로 미리 만들어 둔다.
+ */
+@Slf4j
+@Component
+public class ItemImageStore {
+
+    public static final String URL_PREFIX = "/api/images/";
+
+    private static final Pattern NAME_PATTERN = Pattern.compile("([0-9a-f]{64})\\.(jpg|png|gif|webp)");
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "image/jpeg", "jpg",
+            "image/png", "png",
+            "image/gif", "gif",
+            "image/webp", "webp");
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "jpg", "image/jpeg",
+            "png", "image/png",
+            "gif", "image/gif",
+            "webp", "image/webp");
+
+    private final Path originals;
+    private final Path thumbnails;
+    private final int thumbnailWidth;
+    private final long maxBytes;
+    private final long maxPixels;
+
+    private final ExecutorService thumbnailExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "item-thumbnail");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // 썸네일 생성이 예약된 파일명. 같은 파일을 여러 번 만들지 않기 위함.
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    public ItemImageStore(@Value("${item.image.dir:images}") String directory,
+                          @Value("${item.image.thumbnail-width:300}") int thumbnailWidth,
+                          @Value("${item.image.max-bytes:10485760}") long maxBytes,
+                          @Value("${item.image.max-pixels:40000000}") long maxPixels) throws IOException {
+        Path root = Path.of(directory).toAbsolutePath();
+        this.originals = Files.createDirectories(root.resolve("originals"));
+        this.thumbnails = Files.createDirectories(root.resolve("thumbnails"));
+        this.thumbnailWidth = thumbnailWidth;
+        this.maxBytes = maxBytes;
+        this.maxPixels = maxPixels;
+    }
+
+    /**
+     * 이미지 저장
+     * @return 저장된 파일명(해시.확장자)
+     */
+    public String store(MultipartFile file) {
+        String extension = file.getContentType() == null ? null : EXTENSIONS.get(file.getContentType().toLowerCase());
+        if (file.isEmpty() || extension == null) {
+            throw new InvalidImageException("jpg, png, gif, webp 이미지만 등록할 수 있습니다.");
+        }
+        if (file.getSize() > maxBytes) {
+            throw new InvalidImageException("이미지는 " + maxBytes / (1024 * 1024) + "MB까지 등록할 수 있습니다.");
+        }
+
+        try {
+            //해시를 계산하면서 임시 파일에 복사한 뒤 해시 이름으로 옮긴다.
+            Path temp = Files.createTempFile(originals, "upload-", ".tmp");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = file.getInputStream();
+                 OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                in.transferTo(out);
+            }
+
+            //압축을 풀면 힙을 다 쓰는 이미지는 디코딩하기 전에 헤더의 해상도로 거른다.
+            if (!isDecodable(temp)) {
+                Files.delete(temp);
+                throw new InvalidImageException("이미지 해상도가 너무 큽니다.");
+            }
+
+            String name = HexFormat.of().formatHex(digest.digest()) + "." + extension;
+            Path target = originals.resolve(name);
+            if (Files.exists(target)) {
+                Files.delete(temp);
+            } else {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+
+            scheduleThumbnail(name);
+            return name;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 상품 이미지 경로에 대응하는 썸네일 경로
+     */
+    public static String thumbnailUrl(String imgPath) {
+        if (imgPath == null || !imgPath.startsWith(URL_PREFIX)) {
+            return imgPath;
+        }
+        return imgPath + "?size=thumb";
+    }
+
+    /**
+     * 원본 이미지 조회
+     */
+    public Optional<StoredImage> findOriginal(String name) {
+        Matcher matcher = NAME_PATTERN.matcher(name);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+
+        Path path = originals.resolve(name);
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        return Optional.of(new StoredImage(path, CONTENT_TYPES.get(matcher.group(2)), "\"" + matcher.group(1) + "\"", true));
+    }
+
+    /**
+     * 썸네일 조회
+     * 썸네일이 아직 없으면 생성을 예약하고 원본을 반환한다. 이때는 캐시 가능한 리소스로 표시하지 않는다.
+     */
+    public Optional<StoredImage> findThumbnail(String name) {
+        Optional<StoredImage> original = findOriginal(name);
+        if (original.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Path path = thumbnailPath(name);
+        if (Files.isRegularFile(path)) {
+            String hash = name.substring(0, name.indexOf('.'));
+            return Optional.of(new StoredImage(path, "image/jpeg", "\"" + hash + "-thumb\"", true));
+        }
+
+        scheduleThumbnail(name);
+        StoredImage fallback = original.get();
+        return Optional.of(new StoredImage(fallback.getPath(), fallback.getContentType(), fallback.getETag(), false));
+    }
+
+    private void scheduleThumbnail(String name) {
+        if (Files.exists(thumbnailPath(name)) || !pending.add(name)) {
+            return;
+        }
+        thumbnailExecutor.execute(() -> {
+            try {
+                createThumbnail(name);
+            } catch (Exception e) {
+                log.warn("썸네일 생성 실패 : {}", name, e);
+            } finally {
+                pending.remove(name);
+            }
+        });
+    }
+
+    private void createThumbnail(String name) throws IOException {
+        Path original = originals.resolve(name);
+        //제한 이전에 저장된 큰 이미지는 썸네일 없이 원본을 사용한다.
+        if (!isDecodable(original)) {
+            log.warn("해상도가 커서 썸네일을 만들지 않습니다 : {}", name);
+            return;
+        }
+
+        BufferedImage source = ImageIO.read(original.toFile());
+        //ImageIO가 읽지 못하는 형식(webp 등)은 원본을 그대로 사용한다.
+        if (source == null) {
+            return;
+        }
+
+        int width = Math.min(thumbnailWidth, source.getWidth());
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+
+        //jpg는 투명도를 지원하지 않으므로 흰 배경 위에 그린다.
+        BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        Path temp = Files.createTempFile(thumbnails, "thumb-", ".tmp");
+        ImageIO.write(thumbnail, "jpg", temp.toFile());
+        Files.move(temp, thumbnailPath(name), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * 헤더의 가로/세로만 읽어 max-pixels 이하인지 확인한다. ImageIO가 읽지 못하는 형식은 디코딩하지 않으므로 통과시킨다.
+     */
+    private boolean isDecodable(Path path) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                return true;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                return (long) reader.getWidth(0) * reader.getHeight(0) <= maxPixels;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private Path thumbnailPath(String name) {
+        return thumbnails.resolve(name.substring(0, name.indexOf('.')) + ".jpg");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        thumbnailExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,21 @@
+package company.orderApp.service.image;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.file.Path;
+
+/**
+ * 디스크에 저장된 이미지 파일 정보
+ */
+@Getter
+@AllArgsConstructor
+public class StoredImage {
+    private final Path path;
+    private final String contentType;
+    // 파일 내용의 해시로 만든 강한 ETag
+    private final String eTag;
+    // 썸네일 대신 임시로 보내는 원본이면 false. 썸네일이 만들어지면 바뀌므로 오래 캐시하지 않는다.
+    private final boolean immutable;
+}
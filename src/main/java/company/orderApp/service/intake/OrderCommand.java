@@ -0,0 +1,44 @@
+package company.orderApp.service.intake;
+
+import company.orderApp.domain.Address;
+import company.orderApp.domain.order.Receipt;
+import company.orderApp.service.CheckoutLine;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 검증을 마친 주문 요청
+ * 배송지는 엔티티가 아닌 주소 값으로 들고 있다가 저장할 때 Delivery를 만든다.
+ * 묶음 저장이 롤백되어 건별로 다시 저장하는 경우에도 같은 요청을 그대로 쓸 수 있다.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class OrderCommand {
+
+    private final Long userId;
+    private final Long cartId;
+    // 접수할 때의 장바구니 상품. 저장할 때 장바구니가 이와 다르면 주문하지 않는다.
+    private final List<CheckoutLine> cartLines;
+    private final Long itemId;
+    private final int quantity;
+    private final Address address;
+    private final String phoneNumber;
+    private final Receipt receipt;
+    private final String request;
+
+    //==생성 메서드==//
+    public static OrderCommand byCart(Long userId, Long cartId, List<CheckoutLine> cartLines, Address address, String phoneNumber, Receipt receipt, String request) {
+        return new OrderCommand(userId, cartId, List.copyOf(cartLines), null, 0, address, phoneNumber, receipt, request);
+    }
+
+    public static OrderCommand byItem(Long userId, Long itemId, int quantity, Address address, String phoneNumber, Receipt receipt, String request) {
+        return new OrderCommand(userId, null, List.of(), itemId, quantity, address, phoneNumber, receipt, request);
+    }
+
+    public boolean isCartOrder() {
+        return cartId != null;
+    }
+}
@@ -0,0 +1,223 @@
+package company.orderApp.service.intake;
+
+import company.orderApp.discount.DiscountPolicy;
+import company.orderApp.domain.Delivery;
+import company.orderApp.domain.item.Item;
+import company.orderApp.domain.order.OrderItem;
+import company.orderApp.repository.ItemRepository;
+import company.orderApp.service.CheckoutService;
+import company.orderApp.service.OrderService;
+import company.orderApp.service.cart.CartStore;
+import company.orderApp.service.exception.NonExistentItemException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 비동기 주문 접수 (order.intake.async=true 일 때만 사용)
+ * 요청 스레드는 주문을 큐에 넣고 티켓만 받아 바로 응답한다.
+ * 저장 스레드는 큐에 쌓인 주문을 최대 batch-size 건씩 한 트랜잭션으로 저장해 커밋 횟수를 줄인다.
+ * 큐가 가득 차면 접수를 거절하므로 DB가 밀려도 메모리에 주문이 무한히 쌓이지 않는다.
+ */
+@Slf4j
+@Component
+public class OrderIntake {
+
+    private static final long POLL_MILLIS = 200;
+    private static final long PURGE_INTERVAL_SECONDS = 60;
+
+    private final OrderService orderService;
+    private final CheckoutService checkoutService;
+    private final CartStore cartStore;
+    private final ItemRepository itemRepository;
+    private final DiscountPolicy discountPolicy;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long ticketTtlSeconds;
+
+    private final BlockingQueue<Pending> queue;
+    private final Map<String, OrderTicket> tickets = new ConcurrentHashMap<>();
+    private final Thread writer;
+    private volatile boolean running = true;
+    private LocalDateTime lastPurge = LocalDateTime.now();
+
+    public OrderIntake(OrderService orderService,
+                       CheckoutService checkoutService,
+                       CartStore cartStore,
+                       ItemRepository itemRepository,
+                       DiscountPolicy discountPolicy,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${order.intake.async:false}") boolean enabled,
+                       @Value("${order.intake.queue-capacity:1000}") int queueCapacity,
+                       @Value("${order.intake.batch-size:50}") int batchSize,
+                       @Value("${order.intake.ticket-ttl-seconds:600}") long ticketTtlSeconds) {
+        this.orderService = orderService;
+        this.checkoutService = checkoutService;
+        this.cartStore = cartStore;
+        this.itemRepository = itemRepository;
+        this.discountPolicy = discountPolicy;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.ticketTtlSeconds = ticketTtlSeconds;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        this.writer = new Thread(this::run, "order-intake-writer");
+        this.writer.setDaemon(true);
+        if (enabled) {
+            this.writer.start();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 주문 접수
+     * 큐가 가득 찼으면 빈 값을 반환하며, 호출한 쪽에서 잠시 후 다시 요청하도록 안내한다.
+     */
+    public Optional<OrderTicket> submit(OrderCommand command) {
+        OrderTicket ticket = OrderTicket.issue();
+        tickets.put(ticket.getId(), ticket);
+
+        if (!queue.offer(new Pending(ticket, command))) {
+            tickets.remove(ticket.getId());
+            return Optional.empty();
+        }
+        return Optional.of(ticket);
+    }
+
+    public Optional<OrderTicket> findTicket(String ticketId) {
+        return Optional.ofNullable(tickets.get(ticketId));
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        //남은 주문을 모두 저장한 뒤 종료한다.
+        running = false;
+        if (enabled) {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    writeBatch(batch);
+                    batch.clear();
+                }
+                purgeExpiredTickets();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("주문 저장 스레드 오류", e);
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<Pending> batch) {
+        try {
+            List<Long> orderIds = transactionTemplate.execute(status -> batch.stream()
+                    .map(pending -> write(pending.command))
+                    .toList());
+
+            for (int i = 0; i < batch.size(); i++) {
+                complete(batch.get(i), orderIds.get(i));
+            }
+        } catch (RuntimeException e) {
+            //한 건 때문에 묶음 전체가 롤백되면 건별로 다시 저장해 실패한 주문만 FAILED로 남긴다.
+            log.warn("주문 묶음 저장 실패, 건별로 다시 저장합니다. size={}", batch.size(), e);
+            for (Pending pending : batch) {
+                writeOne(pending);
+            }
+        }
+    }
+
+    private void writeOne(Pending pending) {
+        try {
+            Long orderId = transactionTemplate.execute(status -> write(pending.command));
+            complete(pending, orderId);
+        } catch (RuntimeException e) {
+            log.warn("주문 저장 실패 ticket={}", pending.ticket.getId(), e);
+            pending.ticket.fail(e.getMessage());
+        }
+    }
+
+    private Long write(OrderCommand command) {
+        Delivery delivery = Delivery.createDelivery(command.getAddress());
+
+        if (command.isCartOrder()) {
+            return checkoutService.checkout(command.getUserId(), command.getCartId(), command.getCartLines(), delivery,
+                    command.getPhoneNumber(), command.getReceipt(), command.getRequest());
+        }
+
+        Item item = itemRepository.findById(command.getItemId())
+                .orElseThrow(() -> new NonExistentItemException("존재하지 않는 상품입니다."));
+        int quantity = command.getQuantity();
+        OrderItem orderItem = OrderItem.createOrderItem(item, item.getPrice(), quantity,
+                discountPolicy.discount(quantity, item.getMinimumQuantityForDiscount()));
+
+        return orderService.orderByItem(command.getUserId(), delivery, orderItem,
+                command.getPhoneNumber(), command.getReceipt(), command.getRequest());
+    }
+
+    /**
+     * 장바구니 주문이 저장된 뒤에만 메모리 장바구니를 비운다.
+     * 저장 전에 비우면 이후 변경이 아직 주문되지 않은 장바구니에 쓰여 주문에 섞일 수 있다.
+     */
+    private void complete(Pending pending, Long orderId) {
+        pending.ticket.complete(orderId);
+
+        if (pending.command.isCartOrder() && cartStore.isEnabled()) {
+            cartStore.ordered(pending.command.getUserId(), pending.command.getCartId());
+        }
+    }
+
+    /**
+     * 처리가 끝나고 ticket-ttl-seconds가 지난 티켓 정리
+     */
+    private void purgeExpiredTickets() {
+        LocalDateTime now = LocalDateTime.now();
+        if (lastPurge.plusSeconds(PURGE_INTERVAL_SECONDS).isAfter(now)) {
+            return;
+        }
+        lastPurge = now;
+
+        LocalDateTime expiredBefore = now.minusSeconds(ticketTtlSeconds);
+        tickets.values().removeIf(ticket -> ticket.isDone() && ticket.getCompletedAt().isBefore(expiredBefore));
+    }
+
+    private static class Pending {
+        private final OrderTicket ticket;
+        private final OrderCommand command;
+
+        private Pending(OrderTicket ticket, OrderCommand command) {
+            this.ticket = ticket;
+            this.command = command;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package company.orderApp.service.intake;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 비동기로 접수한 주문의 처리 상태
+ * 접수 스레드가 만들고 주문 저장 스레드가 완료/실패로 바꾸므로 상태 필드는 volatile로 둔다.
+ */
+@Getter
+public class OrderTicket {
+
+    private final String id;
+    private final LocalDateTime createdAt;
+    private volatile OrderTicketStatus status;
+    private volatile Long orderId;
+    private volatile String message;
+    private volatile LocalDateTime completedAt;
+
+    private OrderTicket(String id) {
+        this.id = id;
+        this.createdAt = LocalDateTime.now();
+        this.status = OrderTicketStatus.PENDING;
+    }
+
+    //==생성 메서드==//
+    public static OrderTicket issue() {
+        return new OrderTicket(UUID.randomUUID().toString());
+    }
+
+    //==비즈니스 로직==//
+    public void complete(Long orderId) {
+        this.orderId = orderId;
+        this.completedAt = LocalDateTime.now();
+        this.status = OrderTicketStatus.COMPLETED;
+    }
+
+    public void fail(String message) {
+        this.message = message;
+        this.completedAt = LocalDateTime.now();
+        this.status = OrderTicketStatus.FAILED;
+    }
+
+    public boolean isDone() {
+        return status != OrderTicketStatus.PENDING;
+    }
+}
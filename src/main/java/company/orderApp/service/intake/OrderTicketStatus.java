@@ -0,0 +1,6 @@
+package company.orderApp.service.intake;
+
+public enum OrderTicketStatus {
+
+    PENDING, COMPLETED, FAILED // 접수, 주문 완료, 주문 실패
+}
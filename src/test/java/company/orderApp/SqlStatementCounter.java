@@ -0,0 +1,39 @@
+package company.orderApp;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 테스트 스레드에서 실행된 SQL 기록 (hibernate.session_factory.statement_inspector)
+ * pooled 시퀀스 조회는 id 50개마다 한 번씩만 실행되어 실행마다 달라지므로 기록하지 않는다.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = STATEMENTS.get();
+        if (statements != null && !isSequenceCall(sql)) {
+            statements.add(sql.toLowerCase());
+        }
+        return sql;
+    }
+
+    public static void start() {
+        STATEMENTS.set(new ArrayList<>());
+    }
+
+    public static List<String> stop() {
+        List<String> statements = STATEMENTS.get();
+        STATEMENTS.remove();
+        return statements;
+    }
+
+    private static boolean isSequenceCall(String sql) {
+        String lower = sql.toLowerCase();
+        return lower.contains("nextval(") || lower.contains("next value for");
+    }
+}
@@ -0,0 +1,65 @@
+package company.orderApp;
+
+import company.orderApp.domain.Address;
+import company.orderApp.domain.Cart;
+import company.orderApp.domain.Delivery;
+import company.orderApp.domain.User;
+import company.orderApp.domain.item.Item;
+import company.orderApp.domain.order.Order;
+import company.orderApp.domain.order.OrderItem;
+import company.orderApp.domain.order.Receipt;
+import jakarta.persistence.EntityManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 통합 테스트용 데이터 저장. 테스트끼리 DB를 공유하므로 회원은 매번 새 아이디로 만든다.
+ */
+public final class TestFixtures {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private TestFixtures() {
+    }
+
+    public static User user(EntityManager em) {
+        Address address = new Address("행복마트", "서울특별시 중구 세종대로 110", 4524, "1층");
+        User user = User.createUser("홍길동", "store" + SEQUENCE.incrementAndGet(), "password", address, "123-45-67890", "010-1234-5678", "USER");
+        em.persist(user);
+        return user;
+    }
+
+    public static List<Item> items(EntityManager em, int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Item item = Item.createItem("농심 신라면 멀티팩 5입 " + i, 4500 + i * 100, "/api/images/" + i + ".jpg", "A-" + i, "농심", "얼큰한 국물맛 라면 5개입 상품입니다.", 5, false);
+            em.persist(item);
+            items.add(item);
+        }
+        return items;
+    }
+
+    public static Cart cart(EntityManager em, User user, List<Item> items) {
+        Cart cart = Cart.createCart(user);
+        for (Item item : items) {
+            cart.addOrderItem(OrderItem.createOrderItem(item, item.getPrice(), 1, 0));
+        }
+        em.persist(cart);
+        return cart;
+    }
+
+    /**
+     * 상품마다 한 줄씩 담긴 주문
+     */
+    public static Order order(EntityManager em, User user, List<Item> items) {
+        Delivery delivery = Delivery.createDelivery(user.getAddress());
+        Order order = Order.createOrderByOrderItem(user, delivery, OrderItem.createOrderItem(items.get(0), items.get(0).getPrice(), 1, 0), user.getPhoneNumber(), Receipt.TAX_INVOICE, "문 앞에 놓아주세요");
+        for (Item item : items.subList(1, items.size())) {
+            order.addOrderItem(OrderItem.createOrderItem(item, item.getPrice(), 1, 0));
+        }
+        em.persist(order);
+        return order;
+    }
+}
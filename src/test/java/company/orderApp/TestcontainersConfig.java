@@ -0,0 +1,19 @@
+package company.orderApp;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.MariaDBContainer;
+
+/**
+ * 통합 테스트용 MariaDB 컨테이너. 테스트 컨텍스트가 재사용되는 동안 한 번만 띄운다.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class TestcontainersConfig {
+
+    @Bean
+    @ServiceConnection
+    public MariaDBContainer<?> mariaDBContainer() {
+        return new MariaDBContainer<>("mariadb:11.2");
+    }
+}
@@ -0,0 +1,227 @@
+package company.orderApp.service;
+
+import company.orderApp.SqlStatementCounter;
+import company.orderApp.TestFixtures;
+import company.orderApp.TestcontainersConfig;
+import company.orderApp.domain.Cart;
+import company.orderApp.domain.Delivery;
+import company.orderApp.domain.User;
+import company.orderApp.domain.order.Order;
+import company.orderApp.domain.order.OrderItem;
+import company.orderApp.domain.order.Receipt;
+import company.orderApp.service.exception.CartAlreadyOrderedException;
+import company.orderApp.service.exception.CartChangedException;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Import(TestcontainersConfig.class)
+class CheckoutServiceTest {
+
+    @Autowired
+    CheckoutService checkoutService;
+    @Autowired
+    CheckoutMetrics checkoutMetrics;
+    @Autowired
+    CartService cartService;
+    @Autowired
+    EntityManager em;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    /**
+     * 장바구니 상품 수와 관계없이 주문 처리 update, 장바구니 상품 잠금 조회, 배송지/주문 insert,
+     * 주문 상품 연결 update, 매출 집계 변경분 insert 6문장만 실행해야 한다.
+     * 매출 집계 테이블은 주문 트랜잭션에서 갱신하지 않는다.
+     */
+    @Test
+    void 장바구니_주문_문장_수는_상품_수와_무관() {
+        List<String> one = checkoutStatements(1);
+        List<String> twenty = checkoutStatements(20);
+
+        assertThat(twenty).hasSameSizeAs(one);
+        assertThat(twenty).filteredOn(sql -> sql.startsWith("select")).hasSize(1)
+                .allSatisfy(sql -> assertThat(sql).contains("from order_item").contains("for update"));
+        assertThat(twenty).filteredOn(sql -> sql.startsWith("update cart")).hasSize(1);
+        assertThat(twenty).filteredOn(sql -> sql.startsWith("insert into delivery")).hasSize(1);
+        assertThat(twenty).filteredOn(sql -> sql.startsWith("insert into orders")).hasSize(1);
+        assertThat(twenty).filteredOn(sql -> sql.startsWith("update order_item")).hasSize(1);
+        assertThat(twenty).filteredOn(sql -> sql.startsWith("insert into sales_rollup_event")).hasSize(1);
+        assertThat(twenty).filteredOn(sql -> sql.contains("daily_")).isEmpty();
+        assertThat(twenty).hasSize(6);
+    }
+
+    /**
+     * 주문하는 동안 커밋되지 않은 수량 변경이 있으면, 주문은 그 변경이 끝난 뒤의 상품으로 금액을 계산해야 한다.
+     * 주문 금액과 주문으로 옮겨진 주문 상품 행이 항상 같아야 한다.
+     */
+    @Test
+    void 주문_중_수량_변경은_주문_금액과_주문_상품에_함께_반영() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Cart cart = transactionTemplate.execute(status -> {
+            User user = TestFixtures.user(em);
+            return TestFixtures.cart(em, user, TestFixtures.items(em, 3));
+        });
+        User user = cart.getUser();
+        Long itemId = cart.getOrderItems().keySet().iterator().next();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch edited = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        try {
+            Future<?> edit = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                cartService.changeItemCount(user.getId(), itemId, 5);
+                edited.countDown();
+                try {
+                    commit.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            edited.await(1, TimeUnit.MINUTES);
+
+            Future<Long> checkout = executor.submit(() -> checkoutService.checkout(user.getId(), Delivery.createDelivery(user.getAddress()),
+                    user.getPhoneNumber(), Receipt.TAX_INVOICE, "문 앞에 놓아주세요"));
+            //주문이 수량 변경의 잠금을 기다리게 한 뒤 변경을 커밋한다.
+            Thread.sleep(500);
+            commit.countDown();
+
+            edit.get(1, TimeUnit.MINUTES);
+            Long orderId = checkout.get(1, TimeUnit.MINUTES);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                Order order = em.find(Order.class, orderId);
+                List<OrderItem> lines = em.createQuery("select oi from OrderItem oi where oi.order.id = :orderId", OrderItem.class)
+                        .setParameter("orderId", orderId)
+                        .getResultList();
+
+                assertThat(lines).hasSize(3);
+                assertThat(lines).filteredOn(line -> line.getItemId().equals(itemId))
+                        .singleElement()
+                        .satisfies(line -> assertThat(line.getCount()).isEqualTo(5));
+                assertThat(order.getGrossPrice()).isEqualTo(lines.stream().mapToInt(OrderItem::getTotalPrice).sum());
+                assertThat(order.getDiscountPrice()).isEqualTo(lines.stream().mapToInt(OrderItem::getDiscountPrice).sum());
+            });
+        } finally {
+            commit.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 주문 접수 뒤 장바구니가 바뀌었으면 접수한 주문을 저장하지 않고 장바구니도 그대로 둔다.
+     */
+    @Test
+    void 접수_후_바뀐_장바구니는_주문하지_않음() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Cart cart = transactionTemplate.execute(status -> {
+            User user = TestFixtures.user(em);
+            return TestFixtures.cart(em, user, TestFixtures.items(em, 3));
+        });
+        User user = cart.getUser();
+        List<CheckoutLine> submitted = cart.getOrderItems().values().stream()
+                .map(CheckoutLine::of)
+                .toList();
+
+        cartService.changeItemCount(user.getId(), submitted.get(0).getItemId(), 5);
+
+        assertThatThrownBy(() -> checkoutService.checkout(user.getId(), cart.getId(), submitted, Delivery.createDelivery(user.getAddress()),
+                user.getPhoneNumber(), Receipt.TAX_INVOICE, "문 앞에 놓아주세요"))
+                .isInstanceOf(CartChangedException.class);
+        assertThat(cartService.findCurrentCart(user.getId())).hasValueSatisfying(current -> assertThat(current.getId()).isEqualTo(cart.getId()));
+    }
+
+    /**
+     * 같은 장바구니로 동시에 주문하면 한 요청만 주문되고 나머지는 모두 충돌로 끝나야 한다.
+     */
+    @Test
+    void 같은_장바구니_동시_주문은_한_번만_성공() throws Exception {
+        int tasks = 200;
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Cart cart = transactionTemplate.execute(status -> {
+            User user = TestFixtures.user(em);
+            return TestFixtures.cart(em, user, TestFixtures.items(em, 3));
+        });
+        Long userId = cart.getUser().getId();
+        Long cartId = cart.getId();
+        List<CheckoutLine> lines = cart.getOrderItems().values().stream()
+                .map(CheckoutLine::of)
+                .toList();
+
+        long succeededBefore = checkoutMetrics.getSucceeded();
+        long conflictsBefore = checkoutMetrics.getConflicts();
+
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> futures = new ArrayList<>(tasks);
+        try {
+            for (int i = 0; i < tasks; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return checkoutService.checkout(userId, cartId, lines, Delivery.createDelivery(cart.getUser().getAddress()),
+                            "010-1234-5678", Receipt.TAX_INVOICE, "문 앞에 놓아주세요");
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            int alreadyOrdered = 0;
+            for (Future<Long> future : futures) {
+                try {
+                    future.get(1, TimeUnit.MINUTES);
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(CartAlreadyOrderedException.class);
+                    alreadyOrdered++;
+                }
+            }
+
+            assertThat(succeeded).isEqualTo(1);
+            assertThat(alreadyOrdered).isEqualTo(tasks - 1);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Long orders = transactionTemplate.execute(status -> em.createQuery("select count(o) from Order o where o.user.id = :userId", Long.class)
+                .setParameter("userId", userId)
+                .getSingleResult());
+        assertThat(orders).isEqualTo(1);
+        assertThat(checkoutMetrics.getSucceeded() - succeededBefore).isEqualTo(1);
+        assertThat(checkoutMetrics.getConflicts() - conflictsBefore).isEqualTo(tasks - 1);
+    }
+
+    private List<String> checkoutStatements(int lineCount) {
+        User user = new TransactionTemplate(transactionManager).execute(status -> {
+            User saved = TestFixtures.user(em);
+            TestFixtures.cart(em, saved, TestFixtures.items(em, lineCount));
+            return saved;
+        });
+
+        List<String> statements;
+        SqlStatementCounter.start();
+        try {
+            checkoutService.checkout(user.getId(), Delivery.createDelivery(user.getAddress()),
+                    user.getPhoneNumber(), Receipt.TAX_INVOICE, "문 앞에 놓아주세요");
+        } finally {
+            statements = SqlStatementCounter.stop();
+        }
+        return statements;
+    }
+}
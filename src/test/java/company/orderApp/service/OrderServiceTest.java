@@ -0,0 +1,65 @@
+package company.orderApp.service;
+
+import company.orderApp.TestFixtures;
+import company.orderApp.TestcontainersConfig;
+import company.orderApp.controller.response.OrderDto;
+import company.orderApp.domain.User;
+import company.orderApp.domain.item.Item;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(TestcontainersConfig.class)
+class OrderServiceTest {
+
+    @Autowired
+    OrderService orderService;
+    @Autowired
+    EntityManager em;
+    @Autowired
+    EntityManagerFactory emf;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    /**
+     * 주문 내역 한 페이지는 주문 수와 관계없이 주문 조회 한 번, 주문 상품 조회 한 번으로 끝나야 한다.
+     */
+    @Test
+    void 주문_내역_쿼리_수는_페이지_크기와_무관() {
+        Long userId = new TransactionTemplate(transactionManager).execute(status -> {
+            User user = TestFixtures.user(em);
+            List<Item> items = TestFixtures.items(em, 3);
+            for (int i = 0; i < 100; i++) {
+                TestFixtures.order(em, user, items);
+            }
+            return user.getId();
+        });
+
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        List<OrderDto> small = orderService.findRecentOrders(userId, 0, 5);
+        long smallCount = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        List<OrderDto> large = orderService.findRecentOrders(userId, 0, 100);
+        long largeCount = statistics.getPrepareStatementCount();
+
+        assertThat(small).hasSize(5);
+        assertThat(large).hasSize(100);
+        assertThat(large).allSatisfy(order -> assertThat(order.getOrderItems()).hasSize(3));
+        assertThat(largeCount).isEqualTo(smallCount);
+    }
+}